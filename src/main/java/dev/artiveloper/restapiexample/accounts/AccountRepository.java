@@ -1,9 +1,18 @@
 package dev.artiveloper.restapiexample.accounts;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Integer> {
+
+    @EntityGraph(attributePaths = "roles")
     Optional<Account> findByEmail(String email);
+
+    @Query("select a.id from Account a where a.email = :email")
+    Optional<Integer> findIdByEmail(@Param("email") String email);
+
 }
@@ -1,10 +1,12 @@
 package dev.artiveloper.restapiexample.accounts;
 
+import dev.artiveloper.restapiexample.common.PrimaryReads;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,7 +18,7 @@ import java.util.Set;
 import static java.util.stream.Collectors.toSet;
 
 @Service
-public class AccountService implements UserDetailsService {
+public class AccountService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     AccountRepository accountRepository;
@@ -24,13 +26,35 @@ public class AccountService implements UserDetailsService {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    UserDetailsCache userDetailsCache;
+
     public Account save(Account account) {
         account.setPassword(passwordEncoder.encode(account.getPassword()));
-        return this.accountRepository.save(account);
+        Account savedAccount = this.accountRepository.save(account);
+        this.userDetailsCache.evict(savedAccount.getEmail());
+        return savedAccount;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // 비밀번호를 바꾼 직후에 레플리카에서 옛 해시를 읽어 캐시하지 않도록 프라이머리에서 읽는다.
+        return this.userDetailsCache.get(email, key -> PrimaryReads.read(() -> loadAccount(key)));
+    }
+
+    // 로그인에 성공했는데 저장된 해시의 cost 가 낮으면 DaoAuthenticationProvider 가 새 해시로 호출한다.
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Account account = accountRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(user.getUsername()));
+        account.setPassword(newPassword);
+        this.accountRepository.save(account);
+        this.userDetailsCache.evict(account.getEmail());
+
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+
+    private UserDetails loadAccount(String email) {
         Account account = accountRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException(email));
 
@@ -0,0 +1,84 @@
+package dev.artiveloper.restapiexample.accounts;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 시작할 때 목표 해싱 시간에 맞춰 bcrypt cost 를 정하는 PasswordEncoder.
+ * cost 가 낮거나 다른 알고리즘으로 저장된 해시는 upgradeEncoding 으로 알려서 로그인 성공 시 다시 해싱되게 한다.
+ */
+@Slf4j
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+    private static final String BCRYPT_ID = "bcrypt";
+    private static final String BCRYPT_PREFIX = "{" + BCRYPT_ID + "}";
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final int MAX_STRENGTH = 16;
+
+    private final int strength;
+    private final DelegatingPasswordEncoder delegate;
+
+    public AdaptivePasswordEncoder(int strength) {
+        this.strength = strength;
+        this.delegate = new DelegatingPasswordEncoder(BCRYPT_ID,
+                Collections.singletonMap(BCRYPT_ID, new BCryptPasswordEncoder(strength)));
+        // 예전 형식({noop}, {pbkdf2} ...)으로 저장된 비밀번호도 검증은 할 수 있게 한다.
+        this.delegate.setDefaultPasswordEncoderForMatches(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+    }
+
+    public static AdaptivePasswordEncoder calibrate(Duration targetHashTime, int minStrength) {
+        int strength = minStrength;
+        while (strength < MAX_STRENGTH && measure(strength + 1).compareTo(targetHashTime) <= 0) {
+            strength++;
+        }
+        log.info("bcrypt strength calibrated to {} (target hash time {})", strength, targetHashTime);
+        return new AdaptivePasswordEncoder(strength);
+    }
+
+    private static Duration measure(int strength) {
+        // 첫 호출은 JIT 워밍업이 섞이므로 두 번 재서 짧은 쪽을 쓴다.
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", BCrypt.gensalt(strength));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return Duration.ofNanos(best);
+    }
+
+    public int getStrength() {
+        return this.strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return this.delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return this.delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        if (!encodedPassword.startsWith(BCRYPT_PREFIX)) {
+            return true;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword.substring(BCRYPT_PREFIX.length()));
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) < this.strength;
+    }
+
+}
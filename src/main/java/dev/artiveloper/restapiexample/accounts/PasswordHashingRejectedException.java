@@ -0,0 +1,17 @@
+package dev.artiveloper.restapiexample.accounts;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 해싱 풀이 포화 상태일 때 던진다. 인증 예외가 아니므로 401 로 바뀌지 않고, 다른 provider 로 넘어가지도 않는다.
+ * /oauth/token 에서는 PasswordHashingExceptionTranslator 가, 그 밖에서는 @ResponseStatus 가 503 으로 응답한다.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String msg, Throwable t) {
+        super(msg, t);
+    }
+
+}
@@ -0,0 +1,56 @@
+package dev.artiveloper.restapiexample.accounts;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 이메일로 조회한 UserDetails 캐시. 크기와 TTL 로 제한한다.
+ * 인증이 끝나면 ProviderManager 가 UserDetails 의 비밀번호를 지우기 때문에 항상 복사본을 반환한다.
+ */
+@Component
+public class UserDetailsCache implements MeterBinder {
+
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(@Value("${app.accounts.user-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${app.accounts.user-cache.time-to-live:5m}") Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        UserDetails userDetails = this.cache.get(email, loader);
+        return User.withUserDetails(userDetails).build();
+    }
+
+    public void evict(String email) {
+        this.cache.invalidate(email);
+    }
+
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // 스프링 캐시(events)의 cache.* 메트릭과 태그 키를 맞춘다. (Prometheus 는 같은 이름이면 태그 키도 같아야 한다)
+        CaffeineCacheMetrics.monitor(registry, this.cache, "userDetails",
+                Tags.of("cacheManager", "userDetailsCache", "name", "userDetails"));
+    }
+
+}
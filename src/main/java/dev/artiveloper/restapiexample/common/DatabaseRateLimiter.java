@@ -0,0 +1,119 @@
+package dev.artiveloper.restapiexample.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * rate_limit_bucket 테이블의 행 하나를 노드 전체가 함께 쓰는 토큰 버킷으로 쓴다.
+ * 요청마다 프라이머리에 조건부 UPDATE 하나(처음 보는 키면 INSERT)를 실행하므로 한도가 정확한 대신 LocalRateLimiter 보다 훨씬 비싸다.
+ * 노드 시계로 계산하므로 시계가 어긋난 만큼 한도가 흔들린다.
+ * 가득 찬 버킷의 행은 cleanupInterval 마다 스프링의 TaskScheduler 에서 지운다. 모든 노드가 지워도 결과는 같다.
+ */
+@Slf4j
+public class DatabaseRateLimiter implements RateLimiter, SmartLifecycle {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final RateLimitBucketRepository rateLimitBucketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final Duration cleanupInterval;
+    private ScheduledFuture<?> cleanups;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public DatabaseRateLimiter(RateLimitBucketRepository rateLimitBucketRepository, TransactionTemplate transactionTemplate,
+                               TaskScheduler taskScheduler, Duration cleanupInterval) {
+        this.rateLimitBucketRepository = rateLimitBucketRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.cleanupInterval = cleanupInterval;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (this.cleanups == null) {
+            this.cleanups = this.taskScheduler.scheduleWithFixedDelay(this::cleanup,
+                    Instant.now().plus(this.cleanupInterval), this.cleanupInterval);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (this.cleanups != null) {
+            this.cleanups.cancel(false);
+            this.cleanups = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return this.cleanups != null;
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Long wait = tryAcquire(key, limit, TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()));
+            if (wait != null) {
+                return wait;
+            }
+        }
+        // 같은 키를 만드는 노드와 계속 엇갈렸다. 한 간격 뒤에 다시 오게 한다.
+        return limit.getIntervalNanos();
+    }
+
+    // null 이면 다른 노드와 엇갈려서 다시 해야 한다.
+    Long tryAcquire(String key, RateLimit limit, long now) {
+        Integer updated = this.transactionTemplate.execute(status -> this.rateLimitBucketRepository
+                .acquire(key, now, limit.getIntervalNanos(), limit.getToleranceNanos()));
+        if (updated != null && updated > 0) {
+            return 0L;
+        }
+
+        // 처음 보는 키면 토큰 하나를 쓴 버킷을 만든다. 동시에 만든 노드가 있으면 기본 키 충돌로 지고 다시 UPDATE 한다.
+        try {
+            return this.transactionTemplate.execute(status -> {
+                Optional<RateLimitBucket> bucket = this.rateLimitBucketRepository.findById(key);
+                if (bucket.isPresent()) {
+                    long wait = Math.max(bucket.get().getTheoreticalArrival(), now) + limit.getIntervalNanos()
+                            - now - limit.getToleranceNanos();
+                    return wait > 0 ? wait : null;
+                }
+                this.entityManager.persist(new RateLimitBucket(key, now + limit.getIntervalNanos()));
+                this.entityManager.flush();
+                return 0L;
+            });
+        } catch (DataIntegrityViolationException | PersistenceException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void release(String key, RateLimit limit) {
+        this.transactionTemplate.execute(status -> this.rateLimitBucketRepository.release(key, limit.getIntervalNanos()));
+    }
+
+    void cleanup() {
+        try {
+            long now = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+            this.transactionTemplate.execute(status -> this.rateLimitBucketRepository.deleteFull(now));
+        } catch (RuntimeException e) {
+            log.warn("rate limit bucket cleanup failed", e);
+        }
+    }
+
+}
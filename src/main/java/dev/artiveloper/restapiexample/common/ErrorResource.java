@@ -15,4 +15,10 @@ public class ErrorResource extends Resource<Errors> {
         add(linkTo(methodOn(IndexController.class).index()).withRel("index"));
     }
 
+    // 서블릿 요청 밖(리액티브 핸들러)에서는 linkTo 로 주소를 만들 수 없으므로 index 주소를 받는다.
+    public ErrorResource(Errors content, String indexHref) {
+        super(content);
+        add(new Link(indexHref, "index"));
+    }
+
 }
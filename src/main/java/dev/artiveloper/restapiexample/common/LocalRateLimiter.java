@@ -0,0 +1,41 @@
+package dev.artiveloper.restapiexample.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * 노드 메모리의 토큰 버킷. 키 수는 maximumSize 로 제한하고, idleTimeout 동안 쓰지 않은 버킷은 버린다.
+ * idleTimeout 을 가장 긴 한도의 tolerance 보다 길게 주면 버려지는 버킷은 이미 가득 찬 상태라 결과가 달라지지 않는다.
+ * 크기 제한으로 밀려난 버킷만 일찍 가득 찬 상태로 돌아간다.
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+
+    public LocalRateLimiter(long maximumSize, Duration idleTimeout) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit) {
+        return tryAcquire(key, limit, System.nanoTime());
+    }
+
+    long tryAcquire(String key, RateLimit limit, long now) {
+        return this.buckets.get(key, k -> new TokenBucket(now)).tryAcquire(limit, now);
+    }
+
+    @Override
+    public void release(String key, RateLimit limit) {
+        TokenBucket bucket = this.buckets.getIfPresent(key);
+        if (bucket != null) {
+            bucket.release(limit);
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package dev.artiveloper.restapiexample.common;
+
+import java.util.function.Supplier;
+
+/**
+ * 레플리카 지연(최대 max-lag)을 허용할 수 없는 읽기를 프라이머리로 보낸다. 캐시에 넣는 값처럼 읽은 뒤 오래 쓰는 값이 그렇다.
+ * 읽기 전용 트랜잭션이라도 이 안에서 얻는 커넥션은 ReplicaRoutingDataSource 가 프라이머리로 준다.
+ * 커넥션을 이미 얻은 트랜잭션 안에서 부르면 그 커넥션을 그대로 쓴다.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T read(Supplier<T> reader) {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return reader.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY.remove();
+            } else {
+                PRIMARY.set(previous);
+            }
+        }
+    }
+
+    public static boolean isRequested() {
+        return PRIMARY.get() != null;
+    }
+
+}
@@ -0,0 +1,33 @@
+package dev.artiveloper.restapiexample.common;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * period 마다 permits 개, 최대 burst 개까지 한 번에 허용하는 토큰 버킷 한도.
+ * GCRA 로 계산하므로 버킷은 "다음 요청이 도착해야 할 시각" 하나만 저장한다. (TokenBucket)
+ */
+@Getter
+public final class RateLimit {
+
+    // 토큰 하나가 다시 채워지는 간격
+    private final long intervalNanos;
+
+    // 빈 버킷이 가득 찰 때까지의 시간 (burst * interval)
+    private final long toleranceNanos;
+
+    private RateLimit(long intervalNanos, long toleranceNanos) {
+        this.intervalNanos = intervalNanos;
+        this.toleranceNanos = toleranceNanos;
+    }
+
+    public static RateLimit of(long permits, Duration period, int burst) {
+        if (permits <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permits and burst must be positive");
+        }
+        long intervalNanos = Math.max(1, period.toNanos() / permits);
+        return new RateLimit(intervalNanos, intervalNanos * burst);
+    }
+
+}
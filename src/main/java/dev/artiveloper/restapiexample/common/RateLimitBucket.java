@@ -0,0 +1,22 @@
+package dev.artiveloper.restapiexample.common;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * 노드들이 함께 쓰는 토큰 버킷. (DatabaseRateLimiter) theoreticalArrival 은 에포크 기준 나노초다.
+ */
+@Entity
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode(of = "name")
+public class RateLimitBucket {
+
+    @Id
+    private String name;
+
+    private long theoreticalArrival;
+
+}
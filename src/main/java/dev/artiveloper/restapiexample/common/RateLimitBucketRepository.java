@@ -0,0 +1,28 @@
+package dev.artiveloper.restapiexample.common;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    // TokenBucket 과 같은 계산을 조건부 UPDATE 한 문장으로 한다. 바뀐 행이 없으면 행이 없거나 한도를 넘었다.
+    @Modifying
+    @Query("update RateLimitBucket b set b.theoreticalArrival = "
+            + "(case when b.theoreticalArrival > :now then b.theoreticalArrival else :now end) + :interval "
+            + "where b.name = :name "
+            + "and (case when b.theoreticalArrival > :now then b.theoreticalArrival else :now end) + :interval - :now <= :tolerance")
+    int acquire(@Param("name") String name, @Param("now") long now,
+                @Param("interval") long interval, @Param("tolerance") long tolerance);
+
+    @Modifying
+    @Query("update RateLimitBucket b set b.theoreticalArrival = b.theoreticalArrival - :interval where b.name = :name")
+    int release(@Param("name") String name, @Param("interval") long interval);
+
+    // TAT 가 지난 버킷은 가득 찬 상태라 행이 없는 것과 같다.
+    @Modifying
+    @Query("delete from RateLimitBucket b where b.theoreticalArrival < :now")
+    int deleteFull(@Param("now") long now);
+
+}
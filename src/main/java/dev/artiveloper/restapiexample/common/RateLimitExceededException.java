@@ -0,0 +1,28 @@
+package dev.artiveloper.restapiexample.common;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.common.exceptions.OAuth2Exception;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 클라이언트나 계정의 요청 한도를 넘었다. Retry-After 헤더는 RateLimitInterceptor 가 먼저 붙인다.
+ * /oauth/token 에서는 OAuth2 오류 응답으로, 그 밖에서는 @ResponseStatus 로 429 가 된다.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class RateLimitExceededException extends OAuth2Exception {
+
+    public RateLimitExceededException(String msg) {
+        super(msg);
+    }
+
+    @Override
+    public String getOAuth2ErrorCode() {
+        return "temporarily_unavailable";
+    }
+
+    @Override
+    public int getHttpErrorCode() {
+        return HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+}
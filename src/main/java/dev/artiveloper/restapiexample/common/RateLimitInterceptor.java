@@ -0,0 +1,118 @@
+package dev.artiveloper.restapiexample.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쓰기 요청을 OAuth 클라이언트별, 계정별 토큰 버킷으로 제한한다. 한도를 넘으면 Retry-After 와 함께 429 를 돌려준다.
+ * 스프링 시큐리티 다음에 실행되므로 인증된 요청만 센다. 읽기 요청(GET, HEAD, OPTIONS)은 세지 않는다.
+ * /oauth/token 에서는 HTTP Basic 으로 인증한 클라이언트와 클라이언트 + 요청 IP 로 쓰기와 다른 버킷에서 센다.
+ * 비밀번호를 확인하기 전이므로 username 으로 세면 클라이언트 비밀을 아는 누구나 그 계정의 로그인과 쓰기를 막을 수 있다.
+ * 두 번째 한도에서 거절하면 첫 번째 한도에서 쓴 토큰은 돌려준다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitInterceptor extends HandlerInterceptorAdapter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimit clientLimit;
+    private final RateLimit accountLimit;
+    private final RateLimit loginLimit;
+    private final Counter clientRejections;
+    private final Counter accountRejections;
+    private final Counter loginRejections;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, MeterRegistry meterRegistry,
+                                @Value("${app.rate-limit.client.permits:200}") long clientPermits,
+                                @Value("${app.rate-limit.client.period:1s}") Duration clientPeriod,
+                                @Value("${app.rate-limit.client.burst:400}") int clientBurst,
+                                @Value("${app.rate-limit.account.permits:10}") long accountPermits,
+                                @Value("${app.rate-limit.account.period:1s}") Duration accountPeriod,
+                                @Value("${app.rate-limit.account.burst:20}") int accountBurst,
+                                @Value("${app.rate-limit.login.permits:10}") long loginPermits,
+                                @Value("${app.rate-limit.login.period:1m}") Duration loginPeriod,
+                                @Value("${app.rate-limit.login.burst:10}") int loginBurst) {
+        this.rateLimiter = rateLimiter;
+        this.clientLimit = RateLimit.of(clientPermits, clientPeriod, clientBurst);
+        this.accountLimit = RateLimit.of(accountPermits, accountPeriod, accountBurst);
+        this.loginLimit = RateLimit.of(loginPermits, loginPeriod, loginBurst);
+        this.clientRejections = rejections(meterRegistry, "client");
+        this.accountRejections = rejections(meterRegistry, "account");
+        this.loginRejections = rejections(meterRegistry, "login");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        HttpMethod method = HttpMethod.resolve(request.getMethod());
+        if (method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return true;
+        }
+
+        if (!(authentication instanceof OAuth2Authentication)) {
+            // /oauth/token: HTTP Basic 으로 인증한 클라이언트
+            String client = authentication.getName();
+            acquire("token:" + client, this.clientLimit, this.clientRejections,
+                    "login:" + client + ":" + request.getRemoteAddr(), this.loginLimit, this.loginRejections, response);
+            return true;
+        }
+
+        OAuth2Authentication oauth2Authentication = (OAuth2Authentication) authentication;
+        String client = oauth2Authentication.getOAuth2Request().getClientId();
+        if (oauth2Authentication.isClientOnly()) {
+            acquire("client:" + client, this.clientLimit, this.clientRejections, response);
+        } else {
+            acquire("client:" + client, this.clientLimit, this.clientRejections,
+                    "account:" + oauth2Authentication.getName(), this.accountLimit, this.accountRejections, response);
+        }
+        return true;
+    }
+
+    private void acquire(String key, RateLimit limit, Counter rejections,
+                         String nextKey, RateLimit nextLimit, Counter nextRejections, HttpServletResponse response) {
+        acquire(key, limit, rejections, response);
+        try {
+            acquire(nextKey, nextLimit, nextRejections, response);
+        } catch (RateLimitExceededException e) {
+            this.rateLimiter.release(key, limit);
+            throw e;
+        }
+    }
+
+    private void acquire(String key, RateLimit limit, Counter rejections, HttpServletResponse response) {
+        long wait = this.rateLimiter.tryAcquire(key, limit);
+        if (wait > 0) {
+            rejections.increment();
+            // 초 단위로 올림한다.
+            long seconds = (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+            throw new RateLimitExceededException("Rate limit exceeded");
+        }
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("rate.limit.rejections")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,19 @@
+package dev.artiveloper.restapiexample.common;
+
+/**
+ * 키별 토큰 버킷. 노드마다 따로 세면 LocalRateLimiter, 노드 전체가 한도를 나누면 DatabaseRateLimiter 를 쓴다.
+ * 다른 저장소(redis 등)로 공유하려면 이 인터페이스를 구현한 빈을 등록한다. (RateLimitConfiguration)
+ */
+public interface RateLimiter {
+
+    /**
+     * @return 허용하면 0, 아니면 다시 시도할 수 있을 때까지 남은 나노초
+     */
+    long tryAcquire(String key, RateLimit limit);
+
+    /**
+     * tryAcquire 로 쓴 토큰 하나를 돌려준다. 같은 요청의 다른 한도에서 거절했을 때 쓴다.
+     */
+    void release(String key, RateLimit limit);
+
+}
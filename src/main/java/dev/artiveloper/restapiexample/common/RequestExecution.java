@@ -0,0 +1,31 @@
+package dev.artiveloper.restapiexample.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 핸들러 본문을 어디서 실행할지 정한다. app.async.enabled 가 true 면 Callable 을 그대로 돌려주어
+ * 서블릿 스레드를 반납하고 MVC 비동기 실행기(AsyncRequestConfiguration)에서 실행한다.
+ * false 면 지금 스레드에서 바로 실행한다.
+ * 핸들러의 반환 타입은 Object 로 둔다. (MVC 는 실제 반환값의 타입으로 처리기를 고른다)
+ */
+@Component
+public class RequestExecution {
+
+    private final boolean async;
+
+    public RequestExecution(@Value("${app.async.enabled:false}") boolean async) {
+        this.async = async;
+    }
+
+    public Object run(Callable<ResponseEntity> handler) throws Exception {
+        if (this.async) {
+            return handler;
+        }
+        return handler.call();
+    }
+
+}
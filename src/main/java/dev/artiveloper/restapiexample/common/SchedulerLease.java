@@ -0,0 +1,72 @@
+package dev.artiveloper.restapiexample.common;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * scheduler_lock 테이블의 행 하나로 노드 간에 작업 실행권을 나눈다.
+ * 조건부 UPDATE 한 문장으로 획득/연장하므로 잠금을 쥐고 기다리는 일이 없다.
+ * 노드 시계가 임대 시간보다 크게 어긋나면 두 노드가 동시에 가질 수 있으니, 맡기는 작업은 두 번 실행돼도 안전해야 한다.
+ */
+@Component
+public class SchedulerLease {
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SchedulerLease(SchedulerLockRepository schedulerLockRepository, TransactionTemplate transactionTemplate) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    }
+
+    public String getOwner() {
+        return this.owner;
+    }
+
+    public boolean tryAcquire(String name, Duration leaseTime) {
+        return tryAcquire(name, LocalDateTime.now(), leaseTime);
+    }
+
+    public boolean tryAcquire(String name, LocalDateTime now, Duration leaseTime) {
+        LocalDateTime until = now.plus(leaseTime);
+        Integer updated = this.transactionTemplate.execute(status ->
+                this.schedulerLockRepository.acquire(name, this.owner, now, until));
+        if (updated != null && updated > 0) {
+            return true;
+        }
+
+        // 처음 쓰는 이름이면 행을 만든다. (merge 가 아니라 persist 라서 항상 INSERT) 동시에 만든 노드가 있으면 기본 키 충돌로 진다.
+        try {
+            return Boolean.TRUE.equals(this.transactionTemplate.execute(status -> {
+                if (this.schedulerLockRepository.existsById(name)) {
+                    return false;
+                }
+                this.entityManager.persist(new SchedulerLock(name, this.owner, until));
+                this.entityManager.flush();
+                return true;
+            }));
+        } catch (DataIntegrityViolationException | PersistenceException e) {
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        this.transactionTemplate.execute(status ->
+                this.schedulerLockRepository.release(name, this.owner, LocalDateTime.now()));
+    }
+
+}
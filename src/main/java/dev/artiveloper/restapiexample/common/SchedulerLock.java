@@ -0,0 +1,25 @@
+package dev.artiveloper.restapiexample.common;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+/**
+ * 여러 노드 중 한 곳에서만 돌아야 하는 작업의 임대(lease). lockedUntil 이 지나면 다른 노드가 가져갈 수 있다.
+ */
+@Entity
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode(of = "name")
+public class SchedulerLock {
+
+    @Id
+    private String name;
+
+    private String owner;
+
+    private LocalDateTime lockedUntil;
+
+}
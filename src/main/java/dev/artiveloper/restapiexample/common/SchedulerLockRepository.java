@@ -0,0 +1,23 @@
+package dev.artiveloper.restapiexample.common;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    // 내가 가진 임대는 연장하고, 만료된 임대는 가져온다. 바뀐 행이 없으면 다른 노드가 가지고 있다.
+    @Modifying
+    @Query("update SchedulerLock l set l.owner = :owner, l.lockedUntil = :until "
+            + "where l.name = :name and (l.owner = :owner or l.lockedUntil < :now)")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("update SchedulerLock l set l.lockedUntil = :now where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+}
@@ -0,0 +1,40 @@
+package dev.artiveloper.restapiexample.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 잠금 없는 토큰 버킷. (GCRA) 다음 요청의 이론상 도착 시각(TAT)을 CAS 로 밀어내서 토큰을 쓴다.
+ * 거절할 때는 쓰지 않으므로 한도를 넘긴 클라이언트가 두드려도 캐시 라인을 더럽히지 않는다.
+ */
+public class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    // now 를 TAT 로 두면 가득 찬 버킷이다.
+    public TokenBucket(long now) {
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * @return 허용하면 0, 아니면 토큰이 생길 때까지 남은 나노초
+     */
+    public long tryAcquire(RateLimit limit, long now) {
+        while (true) {
+            long current = this.theoreticalArrival.get();
+            long next = Math.max(current, now) + limit.getIntervalNanos();
+            long wait = next - now - limit.getToleranceNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            if (this.theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // 가득 찬 버킷에 돌려주면 TAT 가 now 보다 앞서지만 tryAcquire 가 now 로 올려 계산하므로 가득 찬 것과 같다.
+    public void release(RateLimit limit) {
+        this.theoreticalArrival.addAndGet(-limit.getIntervalNanos());
+    }
+
+}
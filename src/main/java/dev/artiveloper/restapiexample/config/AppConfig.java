@@ -2,33 +2,39 @@ package dev.artiveloper.restapiexample.config;
 
 import dev.artiveloper.restapiexample.accounts.Account;
 import dev.artiveloper.restapiexample.accounts.AccountRole;
-import dev.artiveloper.restapiexample.accounts.AccountService;
+import dev.artiveloper.restapiexample.accounts.AdaptivePasswordEncoder;
+import dev.artiveloper.restapiexample.accounts.PooledPasswordEncoder;
 import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
 
 @Configuration
+@EnableCaching
 public class AppConfig {
 
-    @Autowired
-    private AccountService accountService;
-
     @Bean
     public ModelMapper modelMapper() {
         return new ModelMapper();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public PooledPasswordEncoder passwordEncoder(@Value("${app.password.target-hash-time:100ms}") Duration targetHashTime,
+                                                 @Value("${app.password.min-strength:10}") int minStrength,
+                                                 @Value("${app.password.pool-size:0}") int poolSize,
+                                                 @Value("${app.password.queue-capacity:64}") int queueCapacity,
+                                                 @Value("${app.password.timeout:5s}") Duration timeout) {
+        PasswordEncoder encoder = AdaptivePasswordEncoder.calibrate(targetHashTime, minStrength);
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new PooledPasswordEncoder(encoder, threads, queueCapacity, timeout);
     }
 
 }
@@ -0,0 +1,50 @@
+package dev.artiveloper.restapiexample.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Callable / StreamingResponseBody 를 실행하는 MVC 비동기 실행기.
+ * 스레드 수가 JDBC 동시 실행 수의 상한이 된다. (커넥션 풀 크기에 맞춘다)
+ * 스레드와 대기열이 모두 차면 RequestExecutionRejectedException 으로 503 을 돌려준다.
+ * 실행기는 빈으로 등록하지 않는다. (부트의 applicationTaskExecutor 를 대신하지 않도록)
+ */
+@Configuration
+public class AsyncRequestConfiguration implements WebMvcConfigurer, DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration timeout;
+
+    public AsyncRequestConfiguration(@Value("${app.async.jdbc-concurrency:10}") int jdbcConcurrency,
+                                     @Value("${app.async.queue-capacity:100}") int queueCapacity,
+                                     @Value("${app.async.timeout:30s}") Duration timeout) {
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setThreadNamePrefix("mvc-async-");
+        this.executor.setCorePoolSize(jdbcConcurrency);
+        this.executor.setMaxPoolSize(jdbcConcurrency);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setRejectedExecutionHandler((r, e) -> {
+            throw new RequestExecutionRejectedException();
+        });
+        this.executor.initialize();
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(this.executor);
+        configurer.setDefaultTimeout(this.timeout.toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdown();
+    }
+
+}
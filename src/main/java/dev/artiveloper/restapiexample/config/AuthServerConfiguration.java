@@ -1,6 +1,8 @@
 package dev.artiveloper.restapiexample.config;
 
 import dev.artiveloper.restapiexample.accounts.AccountService;
+import dev.artiveloper.restapiexample.common.RateLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,6 +13,7 @@ import org.springframework.security.oauth2.config.annotation.web.configuration.E
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerEndpointsConfigurer;
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerSecurityConfigurer;
 import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
 
 @Configuration
 @EnableAuthorizationServer
@@ -28,9 +31,24 @@ public class AuthServerConfiguration extends AuthorizationServerConfigurerAdapte
     @Autowired
     TokenStore tokenStore;
 
+    @Autowired(required = false)
+    JwtAccessTokenConverter accessTokenConverter;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    RateLimitInterceptor rateLimitInterceptor;
+
+    private final PasswordHashingExceptionTranslator exceptionTranslator = new PasswordHashingExceptionTranslator();
+
     @Override
     public void configure(AuthorizationServerSecurityConfigurer security) throws Exception {
-        security.passwordEncoder(passwordEncoder);
+        // /oauth/token_key 는 RSA 공개키일 때만 연다. HMAC 이면 그 키가 곧 서명 비밀이다.
+        boolean publicKey = accessTokenConverter != null && accessTokenConverter.isPublic();
+        security.passwordEncoder(passwordEncoder)
+                .tokenKeyAccess(publicKey ? "permitAll()" : "denyAll()")
+                .addTokenEndpointAuthenticationFilter(new PasswordHashingRejectedFilter(exceptionTranslator));
     }
 
     @Override
@@ -48,7 +66,20 @@ public class AuthServerConfiguration extends AuthorizationServerConfigurerAdapte
     public void configure(AuthorizationServerEndpointsConfigurer endpoints) throws Exception {
         endpoints.authenticationManager(authenticationManager)
                 .userDetailsService(accountService)
-                .tokenStore(tokenStore);
+                .tokenStore(tokenStore)
+                .exceptionTranslator(exceptionTranslator);
+
+        if (accessTokenConverter != null) {
+            endpoints.accessTokenConverter(accessTokenConverter);
+        }
+
+        // 클라이언트 인증 다음, 비밀번호 해싱 전에 거절한다.
+        if (rateLimitInterceptor != null) {
+            endpoints.addInterceptor(rateLimitInterceptor);
+        }
+
+        // 기본 그랜터는 위에서 지정한 토큰 저장소와 변환기로 만들어지므로 마지막에 감싼다.
+        endpoints.tokenGranter(new TimedTokenGranter(endpoints.getTokenGranter(), meterRegistry));
     }
 
 }
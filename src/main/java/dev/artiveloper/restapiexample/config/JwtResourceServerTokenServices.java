@@ -0,0 +1,72 @@
+package dev.artiveloper.restapiexample.config;
+
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.jwt.Jwt;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.MacSigner;
+import org.springframework.security.jwt.crypto.sign.RsaVerifier;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.common.util.JsonParser;
+import org.springframework.security.oauth2.common.util.JsonParserFactory;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.AccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import java.util.Map;
+
+/**
+ * 리소스 서버에서 JWT 서명을 로컬에서 검증한다. 검증 키는 생성 시 한 번만 파싱해서 재사용하고,
+ * 요청마다 토큰을 한 번만 디코딩한다. (DefaultTokenServices + JwtTokenStore 는 두 번 디코딩한다)
+ */
+public class JwtResourceServerTokenServices implements ResourceServerTokenServices {
+
+    private final SignatureVerifier verifier;
+    private final JsonParser jsonParser = JsonParserFactory.create();
+    private final AccessTokenConverter accessTokenConverter = new DefaultAccessTokenConverter();
+
+    public JwtResourceServerTokenServices(SignatureVerifier verifier) {
+        this.verifier = verifier;
+    }
+
+    public static JwtResourceServerTokenServices fromKey(String verifierKey) {
+        if (verifierKey.startsWith("-----BEGIN")) {
+            return new JwtResourceServerTokenServices(new RsaVerifier(verifierKey));
+        }
+        return new JwtResourceServerTokenServices(new MacSigner(verifierKey));
+    }
+
+    @Override
+    public OAuth2Authentication loadAuthentication(String accessToken) throws AuthenticationException, InvalidTokenException {
+        Map<String, Object> claims = decode(accessToken);
+        OAuth2AccessToken token = this.accessTokenConverter.extractAccessToken(accessToken, claims);
+        if (token.isExpired()) {
+            throw new InvalidTokenException("Access token expired: " + accessToken);
+        }
+        return this.accessTokenConverter.extractAuthentication(claims);
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String accessToken) {
+        return this.accessTokenConverter.extractAccessToken(accessToken, decode(accessToken));
+    }
+
+    private Map<String, Object> decode(String accessToken) {
+        Map<String, Object> claims;
+        try {
+            Jwt jwt = JwtHelper.decodeAndVerify(accessToken, this.verifier);
+            claims = this.jsonParser.parseMap(jwt.getClaims());
+        } catch (RuntimeException e) {
+            throw new InvalidTokenException("Cannot convert access token to JSON", e);
+        }
+
+        Object expiration = claims.get(AccessTokenConverter.EXP);
+        if (expiration instanceof Integer) {
+            claims.put(AccessTokenConverter.EXP, ((Integer) expiration).longValue());
+        }
+        return claims;
+    }
+
+}
@@ -0,0 +1,54 @@
+package dev.artiveloper.restapiexample.config;
+
+import dev.artiveloper.restapiexample.accounts.PasswordHashingRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.common.exceptions.OAuth2Exception;
+import org.springframework.security.oauth2.provider.error.DefaultWebResponseExceptionTranslator;
+import org.springframework.security.oauth2.provider.error.WebResponseExceptionTranslator;
+import org.springframework.security.web.util.ThrowableAnalyzer;
+
+/**
+ * 해싱 풀이 거절하면 temporarily_unavailable(503) 로 응답한다. 기본 변환기는 모르는 예외를 500 으로 바꾼다.
+ * 토큰 엔드포인트와 클라이언트 인증 앞의 PasswordHashingRejectedFilter 양쪽에 건다.
+ */
+public class PasswordHashingExceptionTranslator implements WebResponseExceptionTranslator<OAuth2Exception> {
+
+    private final WebResponseExceptionTranslator<OAuth2Exception> delegate = new DefaultWebResponseExceptionTranslator();
+    private final ThrowableAnalyzer throwableAnalyzer = new ThrowableAnalyzer();
+
+    @Override
+    public ResponseEntity<OAuth2Exception> translate(Exception e) throws Exception {
+        Throwable rejected = this.throwableAnalyzer.getFirstThrowableOfType(PasswordHashingRejectedException.class,
+                this.throwableAnalyzer.determineCauseChain(e));
+        if (rejected == null) {
+            return this.delegate.translate(e);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("no-store");
+        headers.setPragma("no-cache");
+        return new ResponseEntity<>(new TemporarilyUnavailableException(rejected.getMessage()), headers,
+                HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private static class TemporarilyUnavailableException extends OAuth2Exception {
+
+        TemporarilyUnavailableException(String msg) {
+            super(msg);
+        }
+
+        @Override
+        public String getOAuth2ErrorCode() {
+            return "temporarily_unavailable";
+        }
+
+        @Override
+        public int getHttpErrorCode() {
+            return HttpStatus.SERVICE_UNAVAILABLE.value();
+        }
+
+    }
+
+}
@@ -0,0 +1,48 @@
+package dev.artiveloper.restapiexample.config;
+
+import dev.artiveloper.restapiexample.accounts.PasswordHashingRejectedException;
+import org.springframework.security.oauth2.common.exceptions.OAuth2Exception;
+import org.springframework.security.oauth2.provider.error.DefaultOAuth2ExceptionRenderer;
+import org.springframework.security.oauth2.provider.error.OAuth2ExceptionRenderer;
+import org.springframework.security.oauth2.provider.error.WebResponseExceptionTranslator;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 클라이언트 Basic 인증 앞에 둔다. 클라이언트 시크릿을 확인하다 해싱 풀이 거절하면 필터 체인 밖으로 새어 500 이 되므로,
+ * 토큰 엔드포인트와 같은 변환기로 응답한다.
+ */
+public class PasswordHashingRejectedFilter extends OncePerRequestFilter {
+
+    private final WebResponseExceptionTranslator<OAuth2Exception> exceptionTranslator;
+    private final OAuth2ExceptionRenderer exceptionRenderer = new DefaultOAuth2ExceptionRenderer();
+
+    public PasswordHashingRejectedFilter(WebResponseExceptionTranslator<OAuth2Exception> exceptionTranslator) {
+        this.exceptionTranslator = exceptionTranslator;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (PasswordHashingRejectedException e) {
+            try {
+                this.exceptionRenderer.handleHttpEntityResponse(this.exceptionTranslator.translate(e),
+                        new ServletWebRequest(request, response));
+            } catch (IOException | ServletException | RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new ServletException(ex);
+            }
+            response.flushBuffer();
+        }
+    }
+
+}
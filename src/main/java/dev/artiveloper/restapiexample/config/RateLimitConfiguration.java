@@ -0,0 +1,64 @@
+package dev.artiveloper.restapiexample.config;
+
+import dev.artiveloper.restapiexample.common.DatabaseRateLimiter;
+import dev.artiveloper.restapiexample.common.LocalRateLimiter;
+import dev.artiveloper.restapiexample.common.RateLimitBucketRepository;
+import dev.artiveloper.restapiexample.common.RateLimitInterceptor;
+import dev.artiveloper.restapiexample.common.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * 이벤트 쓰기 요청에 RateLimitInterceptor 를 건다. (/oauth/token 은 AuthServerConfiguration 에서 건다)
+ * app.rate-limit.backend 로 버킷 저장소를 고른다. (local, database) 그 밖의 값이면 RateLimiter 빈을 직접 등록한다. (redis 등)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfiguration implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    public RateLimitConfiguration(RateLimitInterceptor rateLimitInterceptor) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this.rateLimitInterceptor)
+                .addPathPatterns("/api/events", "/api/events/**");
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "local", matchIfMissing = true)
+    static class Local {
+
+        @Bean
+        public RateLimiter rateLimiter(@Value("${app.rate-limit.local.maximum-size:100000}") long maximumSize,
+                                       @Value("${app.rate-limit.local.idle-timeout:1m}") Duration idleTimeout) {
+            return new LocalRateLimiter(maximumSize, idleTimeout);
+        }
+
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "database")
+    static class Database {
+
+        @Bean
+        public RateLimiter rateLimiter(RateLimitBucketRepository rateLimitBucketRepository,
+                                       TransactionTemplate transactionTemplate, TaskScheduler taskScheduler,
+                                       @Value("${app.rate-limit.database.cleanup-interval:1m}") Duration cleanupInterval) {
+            return new DatabaseRateLimiter(rateLimitBucketRepository, transactionTemplate, taskScheduler, cleanupInterval);
+        }
+
+    }
+
+}
@@ -0,0 +1,109 @@
+package dev.artiveloper.restapiexample.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.artiveloper.restapiexample.events.EventMapper;
+import dev.artiveloper.restapiexample.events.EventRepositoy;
+import dev.artiveloper.restapiexample.events.EventService;
+import dev.artiveloper.restapiexample.events.EventValidator;
+import dev.artiveloper.restapiexample.events.ReactiveEventHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.RelProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * app.reactive.port 를 지정하면 같은 이벤트 API 를 Reactor Netty 로 그 포트에서도 제공한다. (ReactiveEventHandler)
+ * 연결은 이벤트 루프(코어 수만큼의 스레드)가 받고, 블로킹인 JPA 호출만 jdbc-concurrency 개 스레드에서 실행한다.
+ * 그 대기열까지 차면 503 을 돌려준다.
+ * 서블릿 서버와 저장소, 캐시, 검증기, 토큰 저장소를 함께 쓴다.
+ */
+@Configuration
+@ConditionalOnProperty("app.reactive.port")
+public class ReactiveServerConfiguration implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor jdbcExecutor;
+
+    public ReactiveServerConfiguration(@Value("${app.reactive.jdbc-concurrency:10}") int jdbcConcurrency,
+                                       @Value("${app.reactive.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcExecutor = new ThreadPoolTaskExecutor();
+        this.jdbcExecutor.setThreadNamePrefix("reactive-jdbc-");
+        this.jdbcExecutor.setCorePoolSize(jdbcConcurrency);
+        this.jdbcExecutor.setMaxPoolSize(jdbcConcurrency);
+        this.jdbcExecutor.setQueueCapacity(queueCapacity);
+        this.jdbcExecutor.initialize();
+    }
+
+    @Bean(destroyMethod = "disposeNow")
+    public DisposableServer reactiveEventServer(@Value("${app.reactive.port}") int port,
+                                                EventRepositoy eventRepositoy, EventService eventService,
+                                                EventValidator eventValidator, EventMapper eventMapper,
+                                                TokenStore tokenStore,
+                                                ObjectProvider<JwtResourceServerTokenServices> jwtTokenServices,
+                                                ObjectMapper objectMapper,
+                                                @Qualifier("_relProvider") RelProvider relProvider) {
+        Scheduler jdbcScheduler = Schedulers.fromExecutor(this.jdbcExecutor.getThreadPoolExecutor());
+        ReactiveEventHandler handler = new ReactiveEventHandler(eventRepositoy, eventService, eventValidator, eventMapper,
+                tokenServices(tokenStore, jwtTokenServices), jdbcScheduler);
+
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), handlerStrategies(objectMapper, relProvider));
+        return HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+    }
+
+    @Override
+    public void destroy() {
+        this.jdbcExecutor.shutdown();
+    }
+
+    // ResourceServerConfiguration 과 같은 토큰 검증: JWT 리소스 서버면 그 토큰 서비스, 아니면 토큰 저장소 조회
+    private static ResourceServerTokenServices tokenServices(TokenStore tokenStore,
+                                                             ObjectProvider<JwtResourceServerTokenServices> jwtTokenServices) {
+        ResourceServerTokenServices tokenServices = jwtTokenServices.getIfAvailable();
+        if (tokenServices != null) {
+            return tokenServices;
+        }
+        DefaultTokenServices defaultTokenServices = new DefaultTokenServices();
+        defaultTokenServices.setTokenStore(tokenStore);
+        return defaultTokenServices;
+    }
+
+    // 스프링 부트의 ObjectMapper(@JsonComponent 포함)에 HAL 모듈을 더한다.
+    private static HandlerStrategies handlerStrategies(ObjectMapper objectMapper, RelProvider relProvider) {
+        ObjectMapper halObjectMapper = objectMapper.copy();
+        halObjectMapper.registerModule(new Jackson2HalModule());
+        halObjectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(relProvider, null, null));
+
+        return HandlerStrategies.builder()
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jackson2JsonEncoder(
+                            new Jackson2JsonEncoder(halObjectMapper, MediaTypes.HAL_JSON, MediaType.APPLICATION_JSON));
+                    configurer.defaultCodecs().jackson2JsonDecoder(
+                            new Jackson2JsonDecoder(halObjectMapper, MediaType.APPLICATION_JSON));
+                })
+                .build();
+    }
+
+}
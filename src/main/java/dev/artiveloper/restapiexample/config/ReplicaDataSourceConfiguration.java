@@ -0,0 +1,100 @@
+package dev.artiveloper.restapiexample.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * app.datasource.replica.urls 가 있으면 spring.datasource 를 프라이머리로, 나열한 주소를 레플리카로 쓴다.
+ * 없으면 스프링 부트 기본 데이터소스 하나만 쓴다.
+ * 부트의 DataSource 초기화가 모든 DataSource 빈에 걸리므로 빈은 최상위 프록시 하나만 등록한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.urls")
+public class ReplicaDataSourceConfiguration implements DisposableBean {
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private HikariDataSource primaryDataSource;
+    private final List<HikariDataSource> replicaDataSources = new ArrayList<>();
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, TaskScheduler taskScheduler,
+                                 @Value("${app.datasource.replica.urls}") String[] urls,
+                                 @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+                                 @Value("${app.datasource.replica.lag-query:SELECT 0}") String lagQuery,
+                                 @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+                                 @Value("${app.datasource.replica.check-interval:1s}") Duration checkInterval) {
+        this.primaryDataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(this.primaryDataSource));
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls[i].trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+            this.replicaDataSources.add(replica);
+        }
+
+        this.routingDataSource = new ReplicaRoutingDataSource(this.primaryDataSource, replicas, lagQuery, maxLag);
+        this.routingDataSource.afterPropertiesSet();
+        this.routingDataSource.start(taskScheduler, checkInterval);
+
+        // 첫 SQL 을 실행할 때 커넥션을 얻어야 트랜잭션의 readOnly 가 라우팅에 반영된다.
+        return new LazyConnectionDataSourceProxy(this.routingDataSource);
+    }
+
+    // 스프링은 커넥션을 EntityManager 가 닫힐 때까지 쥐고 있게 한다. (DELAYED_ACQUISITION_AND_HOLD)
+    // open-in-view 로 요청 내내 열린 EntityManager 에서는 읽기 트랜잭션이 잡은 레플리카 커넥션을 다음 쓰기 트랜잭션이 그대로 쓰므로
+    // 트랜잭션이 끝날 때마다 커넥션을 돌려주고 트랜잭션마다 다시 라우팅한다.
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // 부트는 DataSource 빈으로 등록된 풀만 계측하므로 프라이머리와 레플리카 풀은 여기서 hikaricp.* 메트릭에 붙인다.
+    @Bean
+    public MeterBinder replicaPoolMetrics(DataSource dataSource) {
+        return registry -> {
+            MicrometerMetricsTrackerFactory trackerFactory = new MicrometerMetricsTrackerFactory(registry);
+            this.primaryDataSource.setMetricsTrackerFactory(trackerFactory);
+            this.replicaDataSources.forEach(replica -> replica.setMetricsTrackerFactory(trackerFactory));
+        };
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (this.routingDataSource != null) {
+            this.routingDataSource.destroy();
+        }
+        if (this.primaryDataSource != null) {
+            this.primaryDataSource.close();
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package dev.artiveloper.restapiexample.config;
+
+import dev.artiveloper.restapiexample.common.PrimaryReads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 트랜잭션은 레플리카로, 나머지는 프라이머리로 보낸다. PrimaryReads 안의 읽기도 프라이머리로 보낸다.
+ * 레플리카는 lagQuery 로 주기적으로 지연(초)을 재서 maxLag 를 넘거나 응답하지 않으면 빼고,
+ * 쓸 수 있는 레플리카가 없으면 프라이머리에서 읽는다.
+ * 트랜잭션이 시작된 뒤에 읽기 전용 여부가 정해지므로 LazyConnectionDataSourceProxy 로 감싸서 써야 한다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private ScheduledFuture<?> lagChecks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources, String lagQuery, Duration maxLag) {
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicaDataSources.get(i));
+            this.replicas.add(replica);
+            targetDataSources.put(replica.key, replica.dataSource);
+        }
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+    public void start(TaskScheduler taskScheduler, Duration checkInterval) {
+        this.lagChecks = taskScheduler.scheduleWithFixedDelay(this::checkReplicas,
+                Instant.now().plus(checkInterval), checkInterval);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || this.replicas.isEmpty()
+                || PrimaryReads.isRequested()) {
+            return PRIMARY;
+        }
+
+        // 라운드 로빈으로 고르되 지연이 큰 레플리카는 건너뛴다.
+        int size = this.replicas.size();
+        int start = Math.floorMod(this.next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = this.replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica.key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    public void checkReplicas() {
+        for (Replica replica : this.replicas) {
+            boolean available = isWithinMaxLag(replica);
+            if (available != replica.available) {
+                log.warn("replica {} is now {}", replica.key, available ? "available" : "unavailable");
+            }
+            replica.available = available;
+        }
+    }
+
+    private boolean isWithinMaxLag(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(this.lagQuery)) {
+            if (!resultSet.next()) {
+                return false;
+            }
+            double lagSeconds = resultSet.getDouble(1);
+            // NULL 은 아직 재생한 트랜잭션이 없다는 뜻이므로 지연 없음으로 본다.
+            return resultSet.wasNull() || lagSeconds * 1000 <= this.maxLag.toMillis();
+        } catch (SQLException | RuntimeException e) {
+            log.debug("replica {} lag check failed", replica.key, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (this.lagChecks != null) {
+            this.lagChecks.cancel(false);
+        }
+        // 레플리카 풀은 이 데이터소스가 만들고 소유한다.
+        for (Replica replica : this.replicas) {
+            if (replica.dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) replica.dataSource).close();
+            }
+        }
+    }
+
+    private static class Replica {
+
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean available;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+
+    }
+
+}
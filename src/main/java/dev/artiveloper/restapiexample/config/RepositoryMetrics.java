@@ -0,0 +1,73 @@
+package dev.artiveloper.restapiexample.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장소 메서드별 실행 시간(repository.invocations)과 실행한 SQL 문 수(repository.statements).
+ * 문장 수는 StatementCounter 로 센다. 미터는 저장소 프록시 클래스와 메서드 이름으로 한 번만 만들어 둔다.
+ */
+@Aspect
+@Component
+public class RepositoryMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, Map<String, Meters>> meters = new ConcurrentHashMap<>();
+
+    public RepositoryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Meters meters = meters(joinPoint.getTarget(), joinPoint.getSignature().getName());
+        long statements = StatementCounter.current();
+        long start = this.registry.config().clock().monotonicTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            meters.timer.record(this.registry.config().clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+            meters.statements.record(StatementCounter.current() - statements);
+        }
+    }
+
+    private Meters meters(Object repository, String method) {
+        return this.meters
+                .computeIfAbsent(repository.getClass(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, name -> new Meters(repositoryName(repository), name));
+    }
+
+    private static String repositoryName(Object repository) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(repository);
+        return interfaces.length > 0 ? interfaces[0].getSimpleName() : repository.getClass().getSimpleName();
+    }
+
+    private final class Meters {
+
+        private final Timer timer;
+        private final DistributionSummary statements;
+
+        private Meters(String repository, String method) {
+            this.timer = Timer.builder("repository.invocations")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .register(RepositoryMetrics.this.registry);
+            this.statements = DistributionSummary.builder("repository.statements")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .register(RepositoryMetrics.this.registry);
+        }
+
+    }
+
+}
@@ -0,0 +1,18 @@
+package dev.artiveloper.restapiexample.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 비동기 실행기의 스레드와 대기열이 모두 찼다. 기다리게 하지 않고 바로 503 으로 돌려보낸다.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class RequestExecutionRejectedException extends RejectedExecutionException {
+
+    public RequestExecutionRejectedException() {
+        super("request executor is saturated");
+    }
+
+}
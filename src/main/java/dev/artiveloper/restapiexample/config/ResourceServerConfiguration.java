@@ -1,5 +1,8 @@
 package dev.artiveloper.restapiexample.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -7,22 +10,43 @@ import org.springframework.security.oauth2.config.annotation.web.configuration.E
 import org.springframework.security.oauth2.config.annotation.web.configuration.ResourceServerConfigurerAdapter;
 import org.springframework.security.oauth2.config.annotation.web.configurers.ResourceServerSecurityConfigurer;
 import org.springframework.security.oauth2.provider.error.OAuth2AccessDeniedHandler;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableResourceServer
 public class ResourceServerConfiguration extends ResourceServerConfigurerAdapter {
 
+    @Autowired(required = false)
+    JwtResourceServerTokenServices jwtTokenServices;
+
+    @Value("${server.port:8080}")
+    int serverPort;
+
+    @Value("${management.server.port:-1}")
+    int managementPort;
+
     @Override
     public void configure(ResourceServerSecurityConfigurer resources) throws Exception {
         resources.resourceId("event");
+
+        if (jwtTokenServices != null) {
+            resources.tokenServices(jwtTokenServices);
+        }
     }
 
     @Override
     public void configure(HttpSecurity http) throws Exception {
+        boolean separateManagementPort = managementPort > 0 && managementPort != serverPort;
+        RequestMatcher prometheus = EndpointRequest.to("prometheus");
         http
                 .anonymous()
                     .and()
                 .authorizeRequests()
+                    .requestMatchers(EndpointRequest.to("health"))
+                        .permitAll()
+                    // 스크랩 엔드포인트는 관리 포트를 따로 열었을 때만 인증 없이 연다. (API 포트에서는 토큰이 있어야 한다)
+                    .requestMatchers(request -> separateManagementPort && prometheus.matches(request))
+                        .permitAll()
                     .mvcMatchers(HttpMethod.GET, "/api/**")
                         .anonymous()
                     .anyRequest()
@@ -0,0 +1,14 @@
+package dev.artiveloper.restapiexample.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기 작업(EventLifecycleScheduler, EventChangeFeed, DatabaseRateLimiter, 레플리카 지연 확인)은
+ * 부트가 만드는 ThreadPoolTaskScheduler(taskScheduler) 하나에서 실행한다. (spring.task.scheduling.*)
+ * 컨텍스트가 닫히면 각 작업은 라이프사이클에 따라 먼저 멈추고, 스케줄러는 그 뒤에 스레드를 정리한다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -0,0 +1,23 @@
+package dev.artiveloper.restapiexample.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 스레드별로 Hibernate 가 준비한 SQL 문 수를 센다. RepositoryMetrics 가 메서드 호출 전후의 차이로 호출당 문장 수를 구한다.
+ * hibernate.session_factory.statement_inspector 로 등록하고, Hibernate 가 직접 생성하므로 상태는 static 이다.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+}
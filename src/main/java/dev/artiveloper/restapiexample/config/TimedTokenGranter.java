@@ -0,0 +1,49 @@
+package dev.artiveloper.restapiexample.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.TokenGranter;
+import org.springframework.security.oauth2.provider.TokenRequest;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 토큰 발급 시간을 grant_type 과 결과별로 잰다. (oauth.token.issue)
+ * 클라이언트 인증을 뺀 발급 자체의 시간이다. (password 그랜트면 사용자 비밀번호 확인과 토큰 저장 포함)
+ */
+public class TimedTokenGranter implements TokenGranter {
+
+    private static final Set<String> GRANT_TYPES = new HashSet<>(Arrays.asList(
+            "password", "refresh_token", "authorization_code", "client_credentials", "implicit"));
+
+    private final TokenGranter delegate;
+    private final MeterRegistry registry;
+
+    public TimedTokenGranter(TokenGranter delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public OAuth2AccessToken grant(String grantType, TokenRequest tokenRequest) {
+        Timer.Sample sample = Timer.start(this.registry);
+        String outcome = "error";
+        try {
+            OAuth2AccessToken token = this.delegate.grant(grantType, tokenRequest);
+            // null 이면 지원하지 않는 grant_type 이다.
+            outcome = token == null ? "unsupported" : "success";
+            return token;
+        } finally {
+            // grant_type 은 클라이언트가 보낸 값이므로 아는 값만 태그로 쓴다. (미터가 끝없이 늘지 않게)
+            String grantTypeTag = "unsupported".equals(outcome) || !GRANT_TYPES.contains(grantType) ? "other" : grantType;
+            sample.stop(Timer.builder("oauth.token.issue")
+                    .tag("grant_type", grantTypeTag)
+                    .tag("outcome", outcome)
+                    .register(this.registry));
+        }
+    }
+
+}
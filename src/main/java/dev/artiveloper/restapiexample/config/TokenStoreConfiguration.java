@@ -0,0 +1,124 @@
+package dev.artiveloper.restapiexample.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+import org.springframework.security.oauth2.provider.token.store.JdbcTokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * app.oauth.token-store 값으로 토큰 저장소를 선택한다. (in-memory, jdbc, jwt)
+ */
+@Configuration
+public class TokenStoreConfiguration {
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.oauth.token-store", havingValue = "in-memory", matchIfMissing = true)
+    static class InMemory {
+
+        @Bean
+        public TokenStore tokenStore(@Value("${app.oauth.in-memory.flush-interval:1000}") int flushInterval) {
+            // flushInterval 번 저장할 때마다 만료된 토큰을 정리해서 맵이 무한히 커지지 않게 한다.
+            InMemoryTokenStore tokenStore = new InMemoryTokenStore();
+            tokenStore.setFlushInterval(flushInterval);
+            return tokenStore;
+        }
+
+        // 저장된 액세스 토큰 수. jdbc 는 테이블 크기로, jwt 는 저장하지 않으므로 이 저장소만 잰다.
+        @Bean
+        public MeterBinder tokenStoreMetrics(TokenStore tokenStore) {
+            return registry -> Gauge.builder("oauth.tokens", (InMemoryTokenStore) tokenStore,
+                    InMemoryTokenStore::getAccessTokenCount)
+                    .description("Access tokens held by the in-memory token store")
+                    .register(registry);
+        }
+
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.oauth.token-store", havingValue = "jdbc")
+    static class Jdbc {
+
+        @Bean
+        public TokenStore tokenStore(DataSource dataSource) {
+            return new JdbcTokenStore(dataSource);
+        }
+
+        @Bean
+        public DataSourceInitializer tokenStoreSchemaInitializer(DataSource dataSource) {
+            DataSourceInitializer initializer = new DataSourceInitializer();
+            initializer.setDataSource(dataSource);
+            initializer.setDatabasePopulator(new ResourceDatabasePopulator(new ClassPathResource("oauth/token-store-schema.sql")));
+            return initializer;
+        }
+
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.oauth.token-store", havingValue = "jwt")
+    static class Jwt {
+
+        @Bean
+        public JwtAccessTokenConverter accessTokenConverter(@Value("${app.oauth.jwt.signing-key:}") String signingKey,
+                                                            @Value("${app.oauth.jwt.verifier-key:}") String verifierKey) {
+            // 저장소에 커밋된 기본 키로 서명하지 않도록 키가 없으면 시작하지 않는다.
+            if (signingKey.trim().isEmpty()) {
+                throw new IllegalStateException("app.oauth.jwt.signing-key must be set when app.oauth.token-store is jwt");
+            }
+            // signing-key 가 RSA 개인키(PEM)이면 verifier-key 에 공개키를 지정해야 한다.
+            JwtAccessTokenConverter converter = new JwtAccessTokenConverter();
+            converter.setSigningKey(signingKey);
+            if (!verifierKey.isEmpty()) {
+                converter.setVerifierKey(verifierKey);
+            }
+            return converter;
+        }
+
+        @Bean
+        public TokenStore tokenStore(JwtAccessTokenConverter accessTokenConverter) {
+            // 토큰 자체에 인증 정보가 들어 있으므로 저장소 조회 없이 서명 검증만 한다.
+            return new JwtTokenStore(accessTokenConverter);
+        }
+
+        @Bean
+        public JwtResourceServerTokenServices resourceServerTokenServices(JwtAccessTokenConverter accessTokenConverter,
+                                                                          @Value("${app.oauth.jwt.key-uri:}") String keyUri) {
+            // 인가 서버와 분리된 리소스 서버는 key-uri(/oauth/token_key)에서 검증 키를 시작할 때 한 번만 받아온다.
+            String verifierKey = keyUri.isEmpty()
+                    ? accessTokenConverter.getKey().get("value")
+                    : fetchVerifierKey(new RestTemplate(), keyUri);
+            return JwtResourceServerTokenServices.fromKey(verifierKey);
+        }
+
+        // token_key 는 RSA 공개키만 내준다. (AuthServerConfiguration) HMAC 으로 서명하는 인가 서버에는 key-uri 를 쓸 수 없다.
+        static String fetchVerifierKey(RestTemplate restTemplate, String keyUri) {
+            Object verifierKey;
+            try {
+                verifierKey = restTemplate.getForObject(keyUri, Map.class).get("value");
+            } catch (HttpClientErrorException e) {
+                throw new IllegalStateException("app.oauth.jwt.key-uri requires an RSA verifier key on the authorization server: "
+                        + keyUri + " returned " + e.getStatusCode(), e);
+            }
+            if (!(verifierKey instanceof String) || !((String) verifierKey).startsWith("-----BEGIN PUBLIC KEY-----")) {
+                throw new IllegalStateException("app.oauth.jwt.key-uri did not return an RSA public key: " + keyUri);
+            }
+            return (String) verifierKey;
+        }
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package dev.artiveloper.restapiexample.enrollments;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.accounts.AccountSerializer;
+import dev.artiveloper.restapiexample.events.Event;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter @Setter @Builder
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Table(uniqueConstraints = @UniqueConstraint(name = Enrollment.UNIQUE_EVENT_ACCOUNT, columnNames = {"event_id", "account_id"}))
+public class Enrollment {
+
+    public static final String UNIQUE_EVENT_ACCOUNT = "uk_enrollment_event_account";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollment_seq", allocationSize = 50)
+    private Integer id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JsonIgnore
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JsonSerialize(using = AccountSerializer.class)
+    private Account account;
+
+    private LocalDateTime enrolledDateTime;
+
+}
@@ -0,0 +1,64 @@
+package dev.artiveloper.restapiexample.enrollments;
+
+import dev.artiveloper.restapiexample.accounts.AccountRepository;
+import dev.artiveloper.restapiexample.common.ErrorResource;
+import dev.artiveloper.restapiexample.common.RequestExecution;
+import dev.artiveloper.restapiexample.events.EventLinks;
+import lombok.AllArgsConstructor;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Optional;
+
+@AllArgsConstructor
+@Controller
+@RequestMapping(value = "/api/events/{eventId}/enrollments", produces = MediaTypes.HAL_JSON_UTF8_VALUE)
+public class EnrollmentController {
+
+    private final EnrollmentService enrollmentService;
+    private final AccountRepository accountRepository;
+    private final RequestExecution requestExecution;
+
+    @PostMapping
+    public Object enroll(@PathVariable Integer eventId, Principal principal) throws Exception {
+        return this.requestExecution.run(() -> {
+            Optional<Integer> accountId = accountRepository.findIdByEmail(principal.getName());
+            if (!accountId.isPresent()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+
+            EnrollmentResult result = enrollmentService.enroll(eventId, accountId.get());
+            switch (result.getStatus()) {
+                case EVENT_NOT_FOUND:
+                    return ResponseEntity.notFound().build();
+                case SOLD_OUT:
+                    return conflict("soldOut", "no seats left for event " + eventId);
+                case NOT_OPEN:
+                    return conflict("enrollmentNotOpen", "event " + eventId + " is not open for enrollment");
+                case ALREADY_ENROLLED:
+                    return conflict("alreadyEnrolled", "already enrolled in event " + eventId);
+                default:
+                    Resource<Enrollment> enrollmentResource = new Resource<>(result.getEnrollment());
+                    enrollmentResource.add(EventLinks.fromCurrentRequest().self(eventId).withRel("event"));
+                    return ResponseEntity.status(HttpStatus.CREATED).body(enrollmentResource);
+            }
+        });
+    }
+
+    private ResponseEntity conflict(String errorCode, String message) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "enrollment");
+        errors.reject(errorCode, message);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResource(errors));
+    }
+
+}
@@ -0,0 +1,9 @@
+package dev.artiveloper.restapiexample.enrollments;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer> {
+
+    long countByEventId(Integer eventId);
+
+}
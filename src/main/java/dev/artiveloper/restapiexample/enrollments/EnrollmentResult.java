@@ -0,0 +1,26 @@
+package dev.artiveloper.restapiexample.enrollments;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class EnrollmentResult {
+
+    private final Status status;
+    private final Enrollment enrollment;
+
+    public static EnrollmentResult enrolled(Enrollment enrollment) {
+        return new EnrollmentResult(Status.ENROLLED, enrollment);
+    }
+
+    public static EnrollmentResult of(Status status) {
+        return new EnrollmentResult(status, null);
+    }
+
+    public enum Status {
+        ENROLLED, SOLD_OUT, ALREADY_ENROLLED, EVENT_NOT_FOUND, NOT_OPEN
+    }
+
+}
@@ -0,0 +1,133 @@
+package dev.artiveloper.restapiexample.enrollments;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.artiveloper.restapiexample.accounts.AccountRepository;
+import dev.artiveloper.restapiexample.common.PrimaryReads;
+import dev.artiveloper.restapiexample.events.EventRepositoy;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이벤트 참가 신청. 초과 등록 여부와 신청 기간(BEGAN_ENROLLMENT, closeEnrollmentDateTime 전)은
+ * 데이터베이스의 조건부 UPDATE 한 문장이 판정한다. (EventRepositoy.incrementEnrolledCount)
+ * 그 앞에 노드마다 이벤트별 남은 자리 카운터(seat gate)를 두고 CAS 로 한 자리씩 차감한다.
+ * 남은 자리보다 많은 요청은 데이터베이스까지 가지 않고 메모리에서 SOLD_OUT 으로 끝나므로,
+ * 매진된 인기 이벤트에 몰리는 요청이 이벤트 행 잠금을 두고 줄을 서지 않는다.
+ * 카운터는 gate-ttl 마다 데이터베이스 값으로 다시 읽는다. 다른 노드의 신청이나 limitOfEnrollment 변경은 그때 반영된다.
+ */
+@Service
+public class EnrollmentService {
+
+    private final EventRepositoy eventRepositoy;
+    private final AccountRepository accountRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<Integer, AtomicInteger> remainingSeats;
+
+    public EnrollmentService(EventRepositoy eventRepositoy, AccountRepository accountRepository,
+                             EnrollmentRepository enrollmentRepository, TransactionTemplate transactionTemplate,
+                             @Value("${app.enrollments.gate.maximum-size:10000}") long maximumSize,
+                             @Value("${app.enrollments.gate.time-to-live:1s}") Duration timeToLive) {
+        this.eventRepositoy = eventRepositoy;
+        this.accountRepository = accountRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.remainingSeats = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    public EnrollmentResult enroll(Integer eventId, Integer accountId) {
+        // 남은 자리와 신청 기간은 레플리카의 지연된 값이 아니라 프라이머리에서 읽는다.
+        AtomicInteger seats = this.remainingSeats.get(eventId, id -> PrimaryReads.read(() ->
+                this.eventRepositoy.findRemainingSeats(id).map(AtomicInteger::new).orElse(null)));
+        if (seats == null) {
+            return EnrollmentResult.of(EnrollmentResult.Status.EVENT_NOT_FOUND);
+        }
+        if (!tryAcquire(seats)) {
+            return EnrollmentResult.of(EnrollmentResult.Status.SOLD_OUT);
+        }
+
+        EnrollmentResult result;
+        try {
+            result = this.transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                // 중복 신청은 유니크 제약으로 먼저 걸러서 이벤트 행 잠금을 잡지 않는다.
+                Enrollment newEnrollment = this.enrollmentRepository.saveAndFlush(Enrollment.builder()
+                        .event(this.eventRepositoy.getOne(eventId))
+                        .account(this.accountRepository.getOne(accountId))
+                        .enrolledDateTime(now)
+                        .build());
+                if (this.eventRepositoy.incrementEnrolledCount(eventId, now) == 0) {
+                    status.setRollbackOnly();
+                    return EnrollmentResult.of(PrimaryReads.read(() -> this.eventRepositoy.isEnrollmentOpen(eventId, now))
+                            ? EnrollmentResult.Status.SOLD_OUT
+                            : EnrollmentResult.Status.NOT_OPEN);
+                }
+                return EnrollmentResult.enrolled(newEnrollment);
+            });
+        } catch (DataIntegrityViolationException e) {
+            seats.incrementAndGet();
+            if (isDuplicateEnrollment(e)) {
+                return EnrollmentResult.of(EnrollmentResult.Status.ALREADY_ENROLLED);
+            }
+            // 자리를 읽은 뒤 이벤트가 지워져서 외래 키에 걸렸다.
+            if (!PrimaryReads.read(() -> this.eventRepositoy.existsById(eventId))) {
+                this.remainingSeats.invalidate(eventId);
+                return EnrollmentResult.of(EnrollmentResult.Status.EVENT_NOT_FOUND);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            seats.incrementAndGet();
+            throw e;
+        }
+
+        switch (result.getStatus()) {
+            case SOLD_OUT:
+                // 다른 노드가 먼저 채웠다. 다음에 다시 읽을 때까지 이 노드에서도 매진으로 둔다.
+                seats.set(0);
+                break;
+            case NOT_OPEN:
+                // 자리는 남아 있다. 신청 기간이 되면 다른 요청이 쓴다.
+                seats.incrementAndGet();
+                break;
+            default:
+                break;
+        }
+        return result;
+    }
+
+    // 데이터베이스마다 제약 이름을 대소문자나 인덱스 접미사를 붙여 돌려준다. (H2: UK_ENROLLMENT_EVENT_ACCOUNT_INDEX_A)
+    private static boolean isDuplicateEnrollment(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String constraintName = ((ConstraintViolationException) cause).getConstraintName();
+                return constraintName != null
+                        && constraintName.toLowerCase(Locale.ROOT).contains(Enrollment.UNIQUE_EVENT_ACCOUNT);
+            }
+        }
+        return false;
+    }
+
+    private static boolean tryAcquire(AtomicInteger seats) {
+        int remaining;
+        do {
+            remaining = seats.get();
+            if (remaining <= 0) {
+                return false;
+            }
+        } while (!seats.compareAndSet(remaining, remaining - 1));
+        return true;
+    }
+
+}
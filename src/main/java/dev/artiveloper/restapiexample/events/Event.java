@@ -1,9 +1,13 @@
 package dev.artiveloper.restapiexample.events;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.accounts.AccountSerializer;
 import lombok.*;
 
 import javax.persistence.*;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 
@@ -14,9 +18,22 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(of = "id")
 @Builder
 @Entity
-public class Event {
+@NamedEntityGraph(name = "Event.withManager", attributeNodes = @NamedAttributeNode("manager"))
+@Table(indexes = {
+        @Index(name = "idx_event_name_id", columnList = "name, id"),
+        @Index(name = "idx_event_begin_enrollment_id", columnList = "beginEnrollmentDateTime, id"),
+        @Index(name = "idx_event_close_enrollment_id", columnList = "closeEnrollmentDateTime, id"),
+        @Index(name = "idx_event_begin_event_id", columnList = "beginEventDateTime, id"),
+        @Index(name = "idx_event_end_event_id", columnList = "endEventDateTime, id"),
+        @Index(name = "idx_event_status_begin_event", columnList = "eventStatus, beginEventDateTime"),
+        @Index(name = "idx_event_status_begin_enrollment", columnList = "eventStatus, beginEnrollmentDateTime, id"),
+        @Index(name = "idx_event_base_price", columnList = "basePrice")
+})
+public class Event implements VersionedEvent, Serializable {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Integer id;
     private String name;
     private String description;
@@ -28,14 +45,33 @@ public class Event {
     private int basePrice; // (optional)
     private int maxPrice; // (optional)
     private int limitOfEnrollment;
+    // EnrollmentService 의 조건부 UPDATE 만 올린다. 엔티티를 저장할 때는 덮어쓰지 않는다.
+    @Column(updatable = false)
+    @JsonIgnore
+    private int enrolledCount;
     private boolean offline;
     private boolean free;
     @Enumerated(EnumType.STRING)
     private EventStatus eventStatus;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonSerialize(using = AccountSerializer.class)
     private Account manager;
 
+    // ETag / Last-Modified 의 근거. 수정될 때마다 JPA 가 올리고, 동시 수정은 낙관적 락으로 막는다.
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private LocalDateTime lastModifiedDateTime;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.lastModifiedDateTime = LocalDateTime.now();
+    }
+
     public void update() {
         if (this.basePrice == 0 && this.maxPrice == 0) {
             this.free = true;
@@ -43,7 +79,8 @@ public class Event {
             this.free = false;
         }
 
-        if (this.location.trim().isEmpty()) {
+        // location 은 선택 항목이다. 없으면 온라인 모임
+        if (this.location == null || this.location.trim().isEmpty()) {
             this.offline = false;
         } else {
             this.offline = true;
@@ -0,0 +1,31 @@
+package dev.artiveloper.restapiexample.events;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.validation.Errors;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventBatchResult {
+
+    private final int index;
+    private final Status status;
+    private final Integer id;
+    private final Errors errors;
+
+    public static EventBatchResult created(int index, Event event) {
+        return new EventBatchResult(index, Status.CREATED, event.getId(), null);
+    }
+
+    public static EventBatchResult invalid(int index, Errors errors) {
+        return new EventBatchResult(index, Status.INVALID, null, errors);
+    }
+
+    public enum Status {
+        CREATED, INVALID
+    }
+
+}
@@ -0,0 +1,98 @@
+package dev.artiveloper.restapiexample.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+@Slf4j
+@Service
+public class EventBatchService {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    EventValidator eventValidator;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Value("${app.events.batch.max-size:10000}")
+    int maxSize;
+
+    @Value("${app.events.batch.flush-size:50}")
+    int flushSize;
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public List<EventBatchResult> createAll(List<EventDto> eventDtos) {
+        EventBatchResult[] results = new EventBatchResult[eventDtos.size()];
+        List<Integer> indexes = new ArrayList<>();
+        List<Event> newEvents = new ArrayList<>();
+
+        for (int i = 0; i < eventDtos.size(); i++) {
+            EventDto eventDto = eventDtos.get(i);
+            if (eventDto == null) {
+                results[i] = EventBatchResult.invalid(i, rejected("required", "event is required"));
+                continue;
+            }
+
+            // 한 건을 검증하거나 변환하다 실패해도 나머지는 계속 만든다.
+            try {
+                Errors errors = this.eventValidator.validate(eventDto);
+                if (errors.hasErrors()) {
+                    results[i] = EventBatchResult.invalid(i, errors);
+                } else {
+                    Event newEvent = eventDto.toEventEntity();
+                    newEvent.update();
+                    newEvents.add(newEvent);
+                    indexes.add(i);
+                }
+            } catch (RuntimeException e) {
+                log.debug("batch item {} rejected", i, e);
+                results[i] = EventBatchResult.invalid(i, rejected("invalid", "event cannot be created"));
+            }
+        }
+
+        this.transactionTemplate.execute(status -> persistAll(newEvents));
+
+        for (int i = 0; i < newEvents.size(); i++) {
+            results[indexes.get(i)] = EventBatchResult.created(indexes.get(i), newEvents.get(i));
+        }
+        return Arrays.asList(results);
+    }
+
+    private static Errors rejected(String errorCode, String message) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "eventDto");
+        errors.reject(errorCode, message);
+        return errors;
+    }
+
+    // 변경 아웃박스도 같은 트랜잭션에서 쓴다.
+    // flush-size 건마다 flush 해서 JDBC 배치로 INSERT 하고, 영속성 컨텍스트를 비워 메모리를 일정하게 유지한다.
+    private List<Event> persistAll(List<Event> events) {
+        for (int i = 0; i < events.size(); i++) {
+            this.entityManager.persist(events.get(i));
+            this.entityManager.persist(EventChange.of(events.get(i).getId(), EventChange.Type.CREATED));
+            if ((i + 1) % this.flushSize == 0) {
+                this.entityManager.flush();
+                this.entityManager.clear();
+            }
+        }
+        return events;
+    }
+
+}
@@ -0,0 +1,48 @@
+package dev.artiveloper.restapiexample.events;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 이벤트 변경 아웃박스. 이벤트를 저장하는 트랜잭션에서 함께 쓰고, EventChangeFeed 가 position 순으로 읽어 구독자에게 보낸다.
+ * id 는 순서가 아니다. 배치 INSERT 가 되도록 시퀀스를 미리 할당하므로 노드마다, 트랜잭션마다 섞인다.
+ * position 은 커밋된 뒤에 EventChangeFeed 가 매기는 커밋 순서이고, SSE 의 이벤트 id(Last-Event-ID) 이다.
+ */
+@Entity
+@Getter @Setter @Builder
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Table(indexes = @Index(name = "idx_event_change_changed", columnList = "changedDateTime"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_event_change_position", columnNames = "position"))
+public class EventChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_change_seq")
+    @SequenceGenerator(name = "event_change_seq", sequenceName = "event_change_seq", allocationSize = 50)
+    private Long id;
+
+    // 아직 매기지 않았으면 null
+    private Long position;
+
+    private Integer eventId;
+
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    private LocalDateTime changedDateTime;
+
+    public static EventChange of(Integer eventId, Type type) {
+        return EventChange.builder()
+                .eventId(eventId)
+                .type(type)
+                .changedDateTime(LocalDateTime.now())
+                .build();
+    }
+
+    public enum Type {
+        CREATED, UPDATED
+    }
+
+}
@@ -0,0 +1,27 @@
+package dev.artiveloper.restapiexample.events;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/**
+ * 이벤트 생성/수정 알림. GET /api/events 를 주기적으로 다시 읽는 대신 구독한다.
+ * 끊겼다가 다시 붙을 때 Last-Event-ID 를 보내면 그 뒤의 변경부터 이어서 받는다.
+ */
+@AllArgsConstructor
+@Controller
+@RequestMapping("/api/events/changes")
+public class EventChangeController {
+
+    private final EventChangeFeed eventChangeFeed;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseBodyEmitter changes(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return this.eventChangeFeed.subscribe(lastEventId);
+    }
+
+}
@@ -0,0 +1,529 @@
+package dev.artiveloper.restapiexample.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.artiveloper.restapiexample.common.SchedulerLease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * 이벤트 변경 피드. (SSE) 노드마다 스프링의 TaskScheduler 에서 poll-interval 마다 변경 아웃박스(EventChange)를 position 순으로 읽고,
+ * 변경마다 SSE 프레임을 한 번만 만들어 모든 구독자의 큐에 넣는다. 큐는 sender-threads 개 스레드가 나눠서 비운다.
+ * 구독자 큐는 buffer-size 로 제한하고, 가득 차면 그 구독자는 끊는다. 클라이언트는 Last-Event-ID 로 다시 붙어 이어받는다.
+ * 읽지 않는 클라이언트에게 쓰다가 write-timeout 넘게 멈춘 구독자도 끊고, 멈춘 sender 대신 스레드를 하나 더 띄운다.
+ * 이어받을 때는 최근 replay-size 개를 들고 있는 메모리 링에서, 그보다 오래됐으면 아웃박스에서 읽는다.
+ * 그래도 replay-limit 개를 넘게 밀렸으면 reset 을 보내고 지금부터 보낸다. (클라이언트는 GET /api/events 로 다시 읽는다)
+ */
+@Slf4j
+@Component
+public class EventChangeFeed implements InitializingBean, SmartLifecycle, DisposableBean {
+
+    static final String CLEANUP_LEASE_NAME = "event-change-cleanup";
+    static final String PUBLISH_LEASE_NAME = "event-change-publish";
+
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType("text", "plain", StandardCharsets.UTF_8);
+    private static final Frame HEARTBEAT = new Frame(0, ":\n\n");
+
+    private final EventChangeRepository eventChangeRepository;
+    private final SchedulerLease schedulerLease;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // 최근에 보낸 프레임과 마지막으로 보낸 position. recentLock 으로 함께 읽고 쓴다.
+    private final Object recentLock = new Object();
+    private final ArrayDeque<Frame> recent = new ArrayDeque<>();
+    private long lastPosition;
+
+    @Value("${app.events.feed.poll-interval:200ms}")
+    Duration pollInterval;
+
+    @Value("${app.events.feed.batch-size:1000}")
+    int batchSize;
+
+    @Value("${app.events.feed.publish-lease:10s}")
+    Duration publishLease;
+
+    @Value("${app.events.feed.buffer-size:256}")
+    int bufferSize;
+
+    @Value("${app.events.feed.replay-size:10000}")
+    int replaySize;
+
+    @Value("${app.events.feed.replay-limit:10000}")
+    int replayLimit;
+
+    @Value("${app.events.feed.sender-threads:4}")
+    int senderThreads;
+
+    @Value("${app.events.feed.write-timeout:5s}")
+    Duration writeTimeout;
+
+    @Value("${app.events.feed.max-stalled-senders:16}")
+    int maxStalledSenders;
+
+    @Value("${app.events.feed.heartbeat-interval:15s}")
+    Duration heartbeatInterval;
+
+    @Value("${app.events.feed.timeout:30m}")
+    Duration timeout;
+
+    @Value("${app.events.feed.retention:1d}")
+    Duration retention;
+
+    @Value("${app.events.feed.cleanup-interval:1h}")
+    Duration cleanupInterval;
+
+    private ThreadPoolExecutor senders;
+    // 멈춘 쓰기 때문에 더 띄운 sender 수. senders 로 잠그고 바꾼다.
+    private int stalledSenders;
+    private final List<ScheduledFuture<?>> relay = new ArrayList<>();
+
+    public EventChangeFeed(EventChangeRepository eventChangeRepository, SchedulerLease schedulerLease,
+                           TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                           TaskScheduler taskScheduler) {
+        this.eventChangeRepository = eventChangeRepository;
+        this.schedulerLease = schedulerLease;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // 지금까지의 변경은 보내지 않는다. 필요한 구독자는 Last-Event-ID 로 아웃박스에서 읽는다.
+        this.lastPosition = this.eventChangeRepository.findMaxPosition().orElse(0L);
+
+        AtomicInteger senderCount = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(this.senderThreads, this.senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "event-feed-sender-" + senderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 0 이면 relay 를 띄우지 않는다. (테스트에서는 직접 poll 을 호출한다)
+    @Override
+    public boolean isAutoStartup() {
+        return !this.pollInterval.isZero();
+    }
+
+    @Override
+    public void start() {
+        synchronized (this.relay) {
+            if (!this.relay.isEmpty()) {
+                return;
+            }
+            schedule(this::poll, this.pollInterval);
+            schedule(this::heartbeat, this.heartbeatInterval);
+            schedule(this::evictStalled, this.writeTimeout);
+            schedule(this::cleanup, this.cleanupInterval);
+        }
+    }
+
+    private void schedule(Runnable task, Duration interval) {
+        this.relay.add(this.taskScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("event feed task failed", e);
+            }
+        }, Instant.now().plus(interval), interval));
+    }
+
+    @Override
+    public void stop() {
+        synchronized (this.relay) {
+            this.relay.forEach(task -> task.cancel(false));
+            this.relay.clear();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        synchronized (this.relay) {
+            return !this.relay.isEmpty();
+        }
+    }
+
+    public ResponseBodyEmitter subscribe(Long lastEventId) {
+        FrameEmitter emitter = new FrameEmitter(this.timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> this.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> this.subscribers.remove(subscriber));
+        emitter.onError(e -> this.subscribers.remove(subscriber));
+
+        // 먼저 등록해서 지금부터의 변경을 큐에 받고, 그 전의 변경은 replay 로 보낸다. 겹치는 건 id 로 건너뛴다.
+        this.subscribers.add(subscriber);
+        long upTo;
+        List<Frame> replay = Collections.emptyList();
+        synchronized (this.recentLock) {
+            upTo = this.lastPosition;
+            if (lastEventId != null && lastEventId < upTo) {
+                Frame oldest = this.recent.peekFirst();
+                if (oldest != null && oldest.id <= lastEventId + 1) {
+                    replay = this.recent.stream().filter(frame -> frame.id > lastEventId).collect(toList());
+                }
+            }
+        }
+
+        if (lastEventId == null || lastEventId >= upTo) {
+            subscriber.start(replay, lastEventId == null ? upTo : lastEventId);
+        } else if (!replay.isEmpty()) {
+            subscriber.start(replay, lastEventId);
+        } else {
+            List<EventChange> changes = this.eventChangeRepository.findBetween(lastEventId, upTo,
+                    PageRequest.of(0, this.replayLimit + 1));
+            if (changes.size() > this.replayLimit) {
+                subscriber.start(Collections.singletonList(new Frame(0, "event:reset\ndata:{}\n\n")), upTo);
+            } else {
+                subscriber.start(changes.stream().map(this::frame).collect(toList()), lastEventId);
+            }
+        }
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return this.subscribers.size();
+    }
+
+    /**
+     * 커밋된 새 변경에 position 을 매기고, 아웃박스에서 새 변경을 읽어 구독자에게 보낸 뒤 보낸 변경 수를 돌려준다.
+     */
+    synchronized int poll() {
+        publish();
+        List<EventChange> changes = this.eventChangeRepository.findAfter(this.lastPosition, PageRequest.of(0, this.batchSize));
+        List<Frame> frames = changes.stream()
+                .map(this::frame)
+                .collect(toList());
+        if (frames.isEmpty()) {
+            return 0;
+        }
+
+        synchronized (this.recentLock) {
+            for (Frame frame : frames) {
+                this.recent.addLast(frame);
+                if (this.recent.size() > this.replaySize) {
+                    this.recent.removeFirst();
+                }
+            }
+            this.lastPosition = frames.get(frames.size() - 1).id;
+        }
+        for (Subscriber subscriber : this.subscribers) {
+            subscriber.offer(frames);
+        }
+        return frames.size();
+    }
+
+    // 커밋된 변경에만 position 을 매긴다. 매길 때는 지금까지의 최댓값 다음부터 잇고 position 은 유니크이므로,
+    // 동시에 매기는 트랜잭션은 하나만 커밋된다. 그래서 보이는 position 은 빈틈 없이 커밋 순서대로 늘어나고,
+    // 오래 걸린 트랜잭션이 늦게 커밋한 변경도 기다림 없이 다음 번에 뒤쪽 position 을 받는다.
+    // 보통은 임대를 가진 노드 하나만 매긴다.
+    int publish() {
+        if (!this.schedulerLease.tryAcquire(PUBLISH_LEASE_NAME, this.publishLease)) {
+            return 0;
+        }
+        try {
+            Integer published = this.transactionTemplate.execute(status -> {
+                List<EventChange> changes = this.eventChangeRepository.findUnpublished(PageRequest.of(0, this.batchSize));
+                long position = this.eventChangeRepository.findMaxPosition().orElse(0L);
+                for (EventChange change : changes) {
+                    change.setPosition(++position);
+                }
+                this.eventChangeRepository.flush();
+                return changes.size();
+            });
+            return published == null ? 0 : published;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("event changes were published by another node", e);
+            return 0;
+        }
+    }
+
+    private Frame frame(EventChange change) {
+        try {
+            String data = this.objectMapper.writeValueAsString(change);
+            return new Frame(change.getPosition(), "id:" + change.getPosition() + "\nevent:" + change.getType() + "\ndata:" + data + "\n\n");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    void heartbeat() {
+        List<Frame> heartbeat = Collections.singletonList(HEARTBEAT);
+        for (Subscriber subscriber : this.subscribers) {
+            subscriber.offer(heartbeat);
+        }
+    }
+
+    // 클라이언트가 읽지 않아 TCP 창이 가득 차면 sender 스레드가 블로킹 쓰기에서 멈춘다. 서블릿 API 로는 그 쓰기를 풀 수 없고,
+    // 컨테이너의 쓰기 타임아웃(server.connection-timeout)이 지나야 IOException 으로 돌아온다.
+    // 그동안 다른 구독자가 밀리지 않도록 그 구독자는 끊고, 멈춘 스레드 대신 sender 를 하나 더 띄운다. 돌아오면 다시 줄인다.
+    void evictStalled() {
+        long stalledSince = System.nanoTime() - this.writeTimeout.toNanos();
+        for (Subscriber subscriber : this.subscribers) {
+            long sendingSince = subscriber.sendingSince;
+            if (sendingSince != 0 && sendingSince - stalledSince <= 0) {
+                subscriber.stalled();
+            }
+        }
+    }
+
+    private boolean addStalledSender() {
+        synchronized (this.senders) {
+            if (this.stalledSenders >= this.maxStalledSenders) {
+                return false;
+            }
+            int size = this.senderThreads + ++this.stalledSenders;
+            this.senders.setMaximumPoolSize(size);
+            this.senders.setCorePoolSize(size);
+            return true;
+        }
+    }
+
+    private void removeStalledSender() {
+        synchronized (this.senders) {
+            int size = this.senderThreads + --this.stalledSenders;
+            this.senders.setCorePoolSize(size);
+            this.senders.setMaximumPoolSize(size);
+        }
+    }
+
+    // 노드 하나만 지운다.
+    void cleanup() {
+        if (this.schedulerLease.tryAcquire(CLEANUP_LEASE_NAME, this.cleanupInterval)) {
+            LocalDateTime before = LocalDateTime.now().minus(this.retention);
+            Integer deleted = this.transactionTemplate.execute(status -> this.eventChangeRepository.deleteChangedBefore(before));
+            log.info("{} event changes deleted", deleted);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        this.senders.shutdownNow();
+        this.subscribers.forEach(Subscriber::evict);
+    }
+
+    /**
+     * 미리 만든 SSE 프레임. 모든 구독자가 같은 인스턴스를 보낸다.
+     */
+    static final class Frame {
+
+        // 아웃박스 position. 하트비트와 reset 은 0
+        private final long id;
+        private final Set<ResponseBodyEmitter.DataWithMediaType> data;
+
+        Frame(long id, String text) {
+            this.id = id;
+            this.data = Collections.singleton(new ResponseBodyEmitter.DataWithMediaType(text, TEXT_PLAIN_UTF8));
+        }
+
+    }
+
+    /**
+     * 미리 만든 프레임을 그대로 쓰는 text/event-stream 응답. (SseEmitter 는 보낼 때마다 이벤트를 다시 조립한다)
+     */
+    static final class FrameEmitter extends ResponseBodyEmitter {
+
+        private FrameEmitter(long timeout) {
+            super(timeout);
+        }
+
+        @Override
+        protected void extendResponse(ServerHttpResponse outputMessage) {
+            super.extendResponse(outputMessage);
+            HttpHeaders headers = outputMessage.getHeaders();
+            if (headers.getContentType() == null) {
+                headers.setContentType(MediaType.TEXT_EVENT_STREAM);
+            }
+        }
+
+        private synchronized void send(Frame frame) throws IOException {
+            for (DataWithMediaType data : frame.data) {
+                super.send(data.getData(), data.getMediaType());
+            }
+        }
+
+    }
+
+    /**
+     * 구독자 하나. 큐에 쌓인 프레임은 한 번에 한 sender 스레드만 보낸다. (scheduled)
+     * 끊을 때도 그 sender 가 complete 한다. 다른 스레드에서 complete 하면 멈춘 쓰기가 쥔 emitter 잠금을 함께 기다린다.
+     */
+    private final class Subscriber implements Runnable {
+
+        private final FrameEmitter emitter;
+        private final BlockingQueue<Frame> queue;
+        // start 전에는 큐에 쌓기만 한다.
+        private final AtomicBoolean scheduled = new AtomicBoolean(true);
+        private final AtomicBoolean evicted = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile List<Frame> replay = Collections.emptyList();
+        private long lastSentId;
+        // 쓰기 시작한 시각. (System.nanoTime) 쓰는 중이 아니면 0
+        private volatile long sendingSince;
+        // 이 구독자의 멈춘 쓰기 대신 sender 를 더 띄웠다. 구독자로 잠그고 바꾼다.
+        private boolean replaced;
+
+        private Subscriber(FrameEmitter emitter) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(EventChangeFeed.this.bufferSize);
+        }
+
+        private void start(List<Frame> replay, long lastSentId) {
+            this.replay = replay;
+            this.lastSentId = lastSentId;
+            this.scheduled.set(false);
+            schedule();
+        }
+
+        private void offer(List<Frame> frames) {
+            for (Frame frame : frames) {
+                if (!this.queue.offer(frame)) {
+                    // 따라오지 못하는 구독자는 끊는다. 다른 구독자와 relay 는 기다리지 않는다.
+                    evict();
+                    return;
+                }
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!this.evicted.get() && (this.queue.isEmpty() && this.replay.isEmpty()
+                    || !EventChangeFeed.this.subscribers.contains(this))) {
+                return;
+            }
+            if (this.scheduled.compareAndSet(false, true)) {
+                try {
+                    EventChangeFeed.this.senders.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // 종료 중이다. 보내는 sender 가 없으므로 여기서 끝낸다.
+                    EventChangeFeed.this.subscribers.remove(this);
+                    this.evicted.set(true);
+                    complete();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (Frame frame : this.replay) {
+                    if (this.evicted.get()) {
+                        break;
+                    }
+                    send(frame);
+                }
+                this.replay = Collections.emptyList();
+                Frame frame;
+                while (!this.evicted.get() && (frame = this.queue.poll()) != null) {
+                    send(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 연결이 끊겼거나 이미 완료됐다.
+                EventChangeFeed.this.subscribers.remove(this);
+                this.replay = Collections.emptyList();
+                this.queue.clear();
+            } finally {
+                this.scheduled.set(false);
+            }
+            if (this.evicted.get()) {
+                complete();
+                return;
+            }
+            // 비우는 사이에 들어온 프레임
+            schedule();
+        }
+
+        private void send(Frame frame) throws IOException {
+            if (frame.id != 0 && frame.id <= this.lastSentId) {
+                return;
+            }
+            this.sendingSince = System.nanoTime();
+            try {
+                this.emitter.send(frame);
+            } finally {
+                sent();
+            }
+            if (frame.id != 0) {
+                this.lastSentId = frame.id;
+            }
+        }
+
+        private synchronized void sent() {
+            this.sendingSince = 0;
+            if (this.replaced) {
+                this.replaced = false;
+                removeStalledSender();
+            }
+        }
+
+        private void stalled() {
+            synchronized (this) {
+                if (this.sendingSince == 0) {
+                    return;
+                }
+                if (!this.replaced) {
+                    this.replaced = addStalledSender();
+                }
+            }
+            log.debug("evicting stalled event feed subscriber");
+            evict();
+        }
+
+        private void evict() {
+            if (this.evicted.compareAndSet(false, true)) {
+                EventChangeFeed.this.subscribers.remove(this);
+                this.queue.clear();
+                this.replay = Collections.emptyList();
+                // 보내는 중이면 그 sender 가 돌아와서 끝낸다.
+                schedule();
+            }
+        }
+
+        private void complete() {
+            if (this.completed.compareAndSet(false, true)) {
+                this.emitter.complete();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,33 @@
+package dev.artiveloper.restapiexample.events;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventChangeRepository extends JpaRepository<EventChange, Long> {
+
+    @Query("select max(c.position) from EventChange c")
+    Optional<Long> findMaxPosition();
+
+    @Query("select c from EventChange c where c.position is null order by c.id")
+    List<EventChange> findUnpublished(Pageable pageable);
+
+    @Query("select c from EventChange c where c.position > :position order by c.position")
+    List<EventChange> findAfter(@Param("position") Long position, Pageable pageable);
+
+    @Query("select c from EventChange c where c.position > :position and c.position <= :until order by c.position")
+    List<EventChange> findBetween(@Param("position") Long position, @Param("until") Long until, Pageable pageable);
+
+    // 마지막 position 은 남긴다. 모두 지워도 position 이 1 부터 다시 시작하지 않는다. 아직 매기지 않은 변경도 남긴다.
+    @Modifying
+    @Query("delete from EventChange c where c.changedDateTime < :before "
+            + "and c.position < (select max(p.position) from EventChange p)")
+    int deleteChangedBefore(@Param("before") LocalDateTime before);
+
+}
@@ -1,98 +1,266 @@
 package dev.artiveloper.restapiexample.events;
 
 import dev.artiveloper.restapiexample.common.ErrorResource;
+import dev.artiveloper.restapiexample.common.RequestExecution;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedResources;
-import org.springframework.hateoas.mvc.ControllerLinkBuilder;
+import org.springframework.hateoas.Resources;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
 
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+import static dev.artiveloper.restapiexample.events.EventETags.eTag;
+import static dev.artiveloper.restapiexample.events.EventETags.lastModified;
+import static dev.artiveloper.restapiexample.events.EventETags.matches;
+import static java.util.stream.Collectors.toList;
 
 @AllArgsConstructor
 @Controller
 @RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_UTF8_VALUE)
 public class EventController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+
     private final EventRepositoy eventRepositoy;
     private final EventValidator eventValidator;
-    private final ModelMapper modelMapper;
+    private final EventMapper eventMapper;
+    private final EventBatchService eventBatchService;
+    private final EventExportService eventExportService;
+    private final EventService eventService;
+    private final RequestExecution requestExecution;
 
     @PostMapping
-    public ResponseEntity createEvent(@RequestBody @Valid EventDto event, Errors errors) {
-        if (errors.hasErrors()) {
-            return badRequest(errors);
-        }
-        eventValidator.valid(event, errors);
-        if (errors.hasErrors()) {
-            return badRequest(errors);
-        }
-        Event newEvent = event.toEventEntity();
-        newEvent.update();
-        eventRepositoy.save(newEvent);
+    public Object createEvent(@RequestBody @Valid EventDto event, Errors errors) throws Exception {
+        return this.requestExecution.run(() -> {
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
+            eventValidator.valid(event, errors);
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
+            Event newEvent = event.toEventEntity();
+            newEvent.update();
+            eventService.save(newEvent);
+
+            EventLinks eventLinks = EventLinks.fromCurrentRequest();
+            URI createdUri = URI.create(eventLinks.href(newEvent.getId()));
+
+            EventResource eventResource = new EventResource(newEvent, eventLinks);
+            eventResource.add(eventLinks.queryEvents());
+            eventResource.add(eventLinks.updateEvent(newEvent.getId()));
+            return ResponseEntity.created(createdUri).body(eventResource);
+        });
+    }
+
+    @PostMapping("/batch")
+    public Object createEvents(@RequestBody List<EventDto> eventDtos) throws Exception {
+        return this.requestExecution.run(() -> {
+            if (eventDtos.size() > eventBatchService.getMaxSize()) {
+                Errors errors = new MapBindingResult(new HashMap<>(), "eventDtos");
+                errors.reject("tooLarge", "at most " + eventBatchService.getMaxSize() + " events per batch");
+                return badRequest(errors);
+            }
 
-        ControllerLinkBuilder selfLinkBuilder = linkTo(EventController.class).slash(newEvent.getId());
-        URI createdUri = selfLinkBuilder.toUri();
+            List<EventBatchResult> results = eventBatchService.createAll(eventDtos);
 
-        EventResource eventResource = new EventResource(newEvent);
-        eventResource.add(linkTo(EventController.class).withRel("query-events"));
-        eventResource.add(selfLinkBuilder.withRel("update-event"));
-        return ResponseEntity.created(createdUri).body(eventResource);
+            Resources<EventBatchResult> resources = new Resources<>(results);
+            resources.add(EventLinks.fromCurrentRequest().queryEvents());
+            return ResponseEntity.ok(resources);
+        });
     }
 
     @GetMapping
-    public ResponseEntity queryEvents(Pageable pageable, PagedResourcesAssembler<Event> assembler) {
-        Page<Event> page = this.eventRepositoy.findAll(pageable);
-        PagedResources pagedResources = assembler.toResource(page, e -> new EventResource(e));
-        return ResponseEntity.ok(pagedResources);
+    public Object queryEvents(EventSearch search, Pageable pageable,
+                              @RequestParam(required = false) String fields,
+                              PagedResourcesAssembler<Event> assembler, WebRequest request) throws Exception {
+        return this.requestExecution.run(() -> {
+            Page<? extends VersionedEvent> page;
+            if (fields != null) {
+                List<String> selectedFields;
+                try {
+                    selectedFields = EventFields.parse(fields);
+                } catch (IllegalArgumentException e) {
+                    Errors errors = new MapBindingResult(new HashMap<>(), "fields");
+                    errors.reject("wrongValue", e.getMessage());
+                    return badRequest(errors);
+                }
+                page = this.eventRepositoy.findAllFields(selectedFields, search.isEmpty() ? null : search.toSpecification(), pageable);
+            } else if (search.isEmpty()) {
+                page = this.eventRepositoy.findAll(pageable);
+            } else {
+                page = this.eventRepositoy.findAll(search.toSpecification(), pageable);
+            }
+
+            String eTag = eTag(page);
+            long lastModified = lastModified(page);
+            if (request.checkNotModified(eTag, lastModified)) {
+                return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), eTag, lastModified).build();
+            }
+
+            // 페이지 링크만 assembler 로 만들고 본문은 EventPageSerializer 가 바로 쓴다.
+            Page<VersionedEvent> emptyPage = new PageImpl<>(Collections.emptyList(), page.getPageable(), page.getTotalElements());
+            List<Link> links = assembler.toEmptyResource(emptyPage, Event.class).getLinks();
+            EventPage eventPage = new EventPage(page, EventLinks.fromCurrentRequest(), links);
+            return withValidators(ResponseEntity.ok(), eTag, lastModified).body(eventPage);
+        });
+    }
+
+    // 검색 조건은 그대로 적용하고, 다음 링크에도 그대로 남는다.
+    // 커서는 엔티티의 정렬 키로 만들기 때문에 fields= 는 받지 않는다.
+    @GetMapping(params = "cursor")
+    public Object queryEventsAfter(@RequestParam String cursor,
+                                   @RequestParam(defaultValue = "20") int size,
+                                   @RequestParam(defaultValue = "false") boolean count,
+                                   @RequestParam(required = false) String fields,
+                                   EventSearch search, Sort sort) throws Exception {
+        return this.requestExecution.run(() -> {
+            if (fields != null) {
+                Errors errors = new MapBindingResult(new HashMap<>(), "fields");
+                errors.reject("unsupported", "fields is not supported with cursor, use page instead");
+                return badRequest(errors);
+            }
+
+            EventCursor eventCursor;
+            try {
+                eventCursor = cursor.isEmpty() ? EventCursor.first(sort) : EventCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                Errors errors = new MapBindingResult(new HashMap<>(), "cursor");
+                errors.reject("wrongValue", e.getMessage());
+                return badRequest(errors);
+            }
+
+            int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+            Specification<Event> spec = search.isEmpty() ? null : search.toSpecification();
+            Slice<Event> slice = this.eventRepositoy.findAllAfter(eventCursor, spec, pageSize);
+            EventLinks eventLinks = EventLinks.fromCurrentRequest();
+            List<EventResource> content = slice.getContent().stream()
+                    .map(e -> new EventResource(e, eventLinks))
+                    .collect(toList());
+
+            List<Link> links = new ArrayList<>();
+            links.add(new Link(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+            if (slice.hasNext()) {
+                String nextCursor = eventCursor.next(content.get(content.size() - 1).getContent()).encode();
+                links.add(new Link(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQueryParam("cursor", nextCursor)
+                        .toUriString(), Link.REL_NEXT));
+            }
+
+            if (count) {
+                PagedResources.PageMetadata metadata = new PagedResources.PageMetadata(pageSize, 0,
+                        spec == null ? this.eventRepositoy.count() : this.eventRepositoy.count(spec));
+                return ResponseEntity.ok(new PagedResources<>(content, metadata, links));
+            }
+            return ResponseEntity.ok(new Resources<>(content, links));
+        });
+    }
+
+    @GetMapping(value = "/export", produces = EventExportService.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<ResponseEntity<Void>> exportEvents(HttpServletResponse response) {
+        response.setContentType(EventExportService.APPLICATION_NDJSON_VALUE);
+        return this.eventExportService.exportTask(response);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity getEvent(@PathVariable Integer id) {
-        Optional<Event> optionalEvent = this.eventRepositoy.findById(id);
-        if (!optionalEvent.isPresent()) {
-            return ResponseEntity.notFound().build();
-        }
+    public Object getEvent(@PathVariable Integer id, WebRequest request) throws Exception {
+        return this.requestExecution.run(() -> {
+            Optional<Event> optionalEvent = this.eventService.getEvent(id);
+            if (!optionalEvent.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
 
-        Event event = optionalEvent.get();
-        EventResource eventResource = new EventResource(event);
-        return ResponseEntity.ok(eventResource);
+            Event event = optionalEvent.get();
+            // If-None-Match / If-Modified-Since 가 맞으면 본문을 만들지 않고 304 로 끝낸다.
+            if (request.checkNotModified(eTag(event), lastModified(event))) {
+                return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), eTag(event), lastModified(event)).build();
+            }
+
+            EventResource eventResource = new EventResource(event);
+            return withValidators(ResponseEntity.ok(), eTag(event), lastModified(event)).body(eventResource);
+        });
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity updateEvent(@PathVariable Integer id, @RequestBody @Valid EventDto eventDto, Errors errors) {
-        if (errors.hasErrors()) {
-            return badRequest(errors);
-        }
+    public Object updateEvent(@PathVariable Integer id,
+                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                              @RequestBody @Valid EventDto eventDto, Errors errors) throws Exception {
+        return this.requestExecution.run(() -> {
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
 
-        eventValidator.valid(eventDto, errors);
-        if (errors.hasErrors()) {
-            return badRequest(errors);
-        }
+            eventValidator.valid(eventDto, errors);
+            if (errors.hasErrors()) {
+                return badRequest(errors);
+            }
 
-        Optional<Event> optionalEvent = this.eventRepositoy.findById(id);
+            // 캐시된 인스턴스는 공유되므로 수정할 대상은 저장소에서 새로 읽는다.
+            Optional<Event> optionalEvent = this.eventRepositoy.findById(id);
 
-        if (!optionalEvent.isPresent()) {
-            return ResponseEntity.notFound().build();
-        }
+            if (!optionalEvent.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+
+            Event event = optionalEvent.get();
+            if (ifMatch != null && !matches(ifMatch, eTag(event))) {
+                return preconditionFailed(event);
+            }
 
-        Event event = optionalEvent.get();
-        this.modelMapper.map(eventDto, event);
-        Event updatedEvent = this.eventRepositoy.save(event);
-        EventResource eventResource = new EventResource(updatedEvent);
+            this.eventMapper.update(eventDto, event);
+            Event updatedEvent;
+            try {
+                updatedEvent = this.eventService.save(event);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // 읽은 뒤 저장하기 전에 다른 요청이 먼저 수정했다.
+                this.eventService.evict(id);
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            EventResource eventResource = new EventResource(updatedEvent);
+
+            return withValidators(ResponseEntity.ok(), eTag(updatedEvent), lastModified(updatedEvent)).body(eventResource);
+        });
+    }
+
+    // Last-Modified 는 알 수 있을 때만 보낸다. (-1 이면 1970 년 이전 날짜가 나간다)
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, String eTag, long lastModified) {
+        builder.eTag(eTag);
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
 
-        return ResponseEntity.ok(eventResource);
+    private ResponseEntity preconditionFailed(Event current) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(eTag(current))
+                .build();
     }
 
     private ResponseEntity badRequest(Errors errors) {
@@ -0,0 +1,107 @@
+package dev.artiveloper.restapiexample.events;
+
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 키셋(seek) 페이지네이션의 위치. (정렬 키, id) 쌍을 불투명한 토큰으로 인코딩한다.
+ */
+@Getter
+public class EventCursor {
+
+    private static final List<String> SORTABLE_PROPERTIES = Arrays.asList(
+            "id", "name",
+            "beginEnrollmentDateTime", "closeEnrollmentDateTime",
+            "beginEventDateTime", "endEventDateTime");
+
+    private static final String SEPARATOR = "|";
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final Integer id;
+    private final Comparable<?> value;
+
+    private EventCursor(String property, Sort.Direction direction, Integer id, Comparable<?> value) {
+        if (!SORTABLE_PROPERTIES.contains(property)) {
+            throw new IllegalArgumentException("unsupported sort property: " + property);
+        }
+        this.property = property;
+        this.direction = direction;
+        this.id = id;
+        this.value = value;
+    }
+
+    public static EventCursor first(Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+        return new EventCursor(order.getProperty(), order.getDirection(), null, null);
+    }
+
+    public static EventCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("malformed cursor");
+            }
+            String property = parts[0];
+            return new EventCursor(property, Sort.Direction.fromString(parts[1]),
+                    Integer.valueOf(parts[2]), parser(property).apply(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("invalid cursor: " + token, e);
+        }
+    }
+
+    public boolean hasPosition() {
+        return this.id != null;
+    }
+
+    public Sort toSort() {
+        return Sort.by(new Sort.Order(this.direction, this.property), new Sort.Order(this.direction, "id"));
+    }
+
+    public EventCursor next(Event last) {
+        Comparable<?> lastValue = "id".equals(this.property) ? last.getId() : sortKey(last);
+        return new EventCursor(this.property, this.direction, last.getId(), lastValue);
+    }
+
+    public String encode() {
+        String raw = this.property + SEPARATOR + this.direction + SEPARATOR + this.id + SEPARATOR + this.value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Comparable<?> sortKey(Event event) {
+        switch (this.property) {
+            case "name":
+                return event.getName();
+            case "beginEnrollmentDateTime":
+                return event.getBeginEnrollmentDateTime();
+            case "closeEnrollmentDateTime":
+                return event.getCloseEnrollmentDateTime();
+            case "beginEventDateTime":
+                return event.getBeginEventDateTime();
+            case "endEventDateTime":
+                return event.getEndEventDateTime();
+            default:
+                return event.getId();
+        }
+    }
+
+    private static Function<String, Comparable<?>> parser(String property) {
+        switch (property) {
+            case "id":
+                return Integer::valueOf;
+            case "name":
+                return s -> s;
+            default:
+                return LocalDateTime::parse;
+        }
+    }
+
+}
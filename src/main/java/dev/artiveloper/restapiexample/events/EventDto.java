@@ -38,19 +38,7 @@ public class EventDto {
     private EventStatus eventStatus;
 
     public Event toEventEntity() {
-        return Event.builder()
-                .name(this.name)
-                .description(this.description)
-                .beginEnrollmentDateTime(this.beginEnrollmentDateTime)
-                .closeEnrollmentDateTime(this.closeEnrollmentDateTime)
-                .beginEventDateTime(this.beginEventDateTime)
-                .endEventDateTime(this.endEventDateTime)
-                .location(this.location)
-                .basePrice(this.basePrice)
-                .maxPrice(this.maxPrice)
-                .limitOfEnrollment(this.limitOfEnrollment)
-                .eventStatus(EventStatus.DTAFT)
-                .build();
+        return EventMapper.INSTANCE.toEventEntity(this);
     }
 
 }
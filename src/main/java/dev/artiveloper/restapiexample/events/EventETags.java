@@ -0,0 +1,59 @@
+package dev.artiveloper.restapiexample.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 이벤트 응답의 검증자(ETag, Last-Modified). 서블릿 컨트롤러와 리액티브 핸들러가 같은 값을 내도록 한곳에 둔다.
+ */
+final class EventETags {
+
+    private EventETags() {
+    }
+
+    static String eTag(Event event) {
+        return "\"" + event.getId() + "-" + event.getVersion() + "\"";
+    }
+
+    static String eTag(Page<? extends VersionedEvent> page) {
+        StringBuilder builder = new StringBuilder()
+                .append(page.getNumber()).append('|')
+                .append(page.getSize()).append('|')
+                .append(page.getTotalElements()).append('|')
+                .append(page.getSort());
+        page.forEach(e -> builder.append('|').append(e.getId()).append('-').append(e.getVersion()));
+        return "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    static long lastModified(VersionedEvent event) {
+        LocalDateTime lastModifiedDateTime = event.getLastModifiedDateTime();
+        if (lastModifiedDateTime == null) {
+            return -1;
+        }
+        return lastModifiedDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // 목록은 가장 최근에 수정된 이벤트의 시각
+    static long lastModified(Page<? extends VersionedEvent> page) {
+        return page.getContent().stream()
+                .mapToLong(EventETags::lastModified)
+                .max().orElse(-1);
+    }
+
+    // If-Match 는 강한 비교만 허용한다. (W/ 로 시작하는 약한 ETag 는 일치하지 않는다)
+    static boolean matches(String ifMatch, String eTag) {
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifMatch)) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
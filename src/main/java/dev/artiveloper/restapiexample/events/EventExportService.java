@@ -0,0 +1,113 @@
+package dev.artiveloper.restapiexample.events;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.artiveloper.restapiexample.config.RequestExecutionRejectedException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 전체 이벤트를 한 줄에 하나씩(NDJSON) 내보낸다. 커서로 읽은 행을 바로 쓰고
+ * batch-size 건마다 영속성 컨텍스트를 비우므로 이벤트 수와 상관없이 메모리 사용량이 일정하다.
+ * 내보내기는 오래 걸리므로 API 비동기 실행기와 제한 시간(app.async.*)을 쓰지 않고 자기 스레드(concurrency 개)에서 돈다.
+ * 모두 바쁘면 503 을 돌려준다.
+ */
+@Service
+public class EventExportService implements DisposableBean {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf(APPLICATION_NDJSON_VALUE);
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    EventRepositoy eventRepositoy;
+
+    @Value("${app.events.export.batch-size:500}")
+    int batchSize;
+
+    private final JsonFactory jsonFactory;
+    private final ObjectWriter eventWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolTaskExecutor executor;
+    private final long timeout;
+
+    public EventExportService(ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                              @Value("${app.events.export.concurrency:2}") int concurrency,
+                              @Value("${app.events.export.timeout:0}") Duration timeout) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.eventWriter = objectMapper.writerFor(Event.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setThreadNamePrefix("event-export-");
+        this.executor.setCorePoolSize(concurrency);
+        this.executor.setMaxPoolSize(concurrency);
+        this.executor.setQueueCapacity(0);
+        this.executor.setRejectedExecutionHandler((r, e) -> {
+            throw new RequestExecutionRejectedException();
+        });
+        this.executor.initialize();
+        this.timeout = timeout.toMillis();
+    }
+
+    // 0 이면 제한 시간 없이 끝까지 보낸다. 본문은 응답에 직접 쓰고, 끝나면 빈 ResponseEntity 로 MVC 처리를 마친다.
+    public WebAsyncTask<ResponseEntity<Void>> exportTask(HttpServletResponse response) {
+        return new WebAsyncTask<>(this.timeout, this.executor, () -> {
+            export(response.getOutputStream());
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    public void export(OutputStream out) {
+        this.transactionTemplate.execute(status -> {
+            try (Stream<Event> events = this.eventRepositoy.streamAllByOrderById();
+                 JsonGenerator generator = this.jsonFactory.createGenerator(out)
+                         .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                int written = 0;
+                for (Iterator<Event> it = events.iterator(); it.hasNext(); ) {
+                    this.eventWriter.writeValue(generator, it.next());
+                    generator.writeRaw('\n');
+                    if (++written % this.batchSize == 0) {
+                        generator.flush();
+                        this.entityManager.clear();
+                    }
+                }
+                return written;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdown();
+    }
+
+}
@@ -0,0 +1,47 @@
+package dev.artiveloper.restapiexample.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * fields= 로 고른 컬럼만 읽은 이벤트 한 건. 엔티티가 아니므로 영속성 컨텍스트에 올라가지 않는다.
+ */
+@Getter
+@AllArgsConstructor
+public class EventFields implements VersionedEvent {
+
+    public static final List<String> SELECTABLE_FIELDS = Arrays.asList(
+            "id", "name", "description",
+            "beginEnrollmentDateTime", "closeEnrollmentDateTime",
+            "beginEventDateTime", "endEventDateTime",
+            "location", "basePrice", "maxPrice", "limitOfEnrollment",
+            "offline", "free", "eventStatus", "manager");
+
+    private final Integer id;
+    private final Long version;
+    private final LocalDateTime lastModifiedDateTime;
+    private final Map<String, Object> values; // 요청한 순서, id 가 항상 먼저
+
+    public static List<String> parse(String fields) {
+        List<String> parsed = new ArrayList<>();
+        parsed.add("id");
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty() || parsed.contains(trimmed)) {
+                continue;
+            }
+            if (!SELECTABLE_FIELDS.contains(trimmed)) {
+                throw new IllegalArgumentException("unsupported field: " + trimmed);
+            }
+            parsed.add(trimmed);
+        }
+        return parsed;
+    }
+
+}
@@ -0,0 +1,197 @@
+package dev.artiveloper.restapiexample.events;
+
+import dev.artiveloper.restapiexample.common.SchedulerLease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Collectors;
+
+/**
+ * beginEnrollmentDateTime 이 지난 PUBLISHED 이벤트를 BEGAN_ENROLLMENT 로 옮긴다.
+ * horizon 안에 전이될 이벤트만 인덱스(idx_event_status_begin_enrollment)에서 키셋으로 읽어 시각 순 우선순위 큐에 올리고,
+ * tick 마다 시각이 된 것들을 batch-size 개씩 묶어 UPDATE 한 문장으로 옮긴다. 테이블 전체를 훑지 않는다.
+ * 큐는 refresh-interval 마다 새로 읽으므로 그 사이에 생기거나 바뀐 이벤트는 최대 refresh-interval 늦게 반영된다.
+ * 한 번에 max-queued 개까지만 올리고, 마지막으로 올린 시각이 되면 이어서 읽는다.
+ * 실행은 SchedulerLease 를 가진 노드 하나만 한다. UPDATE 가 상태와 시각을 다시 확인하므로 겹쳐 실행돼도 결과는 같다.
+ * tick 은 스프링의 TaskScheduler 에서 돌고, 컨텍스트의 라이프사이클을 따라 시작하고 멈춘다.
+ */
+@Slf4j
+@Component
+public class EventLifecycleScheduler implements SmartLifecycle {
+
+    static final String LEASE_NAME = "event-lifecycle";
+
+    private final EventRepositoy eventRepositoy;
+    private final EventChangeRepository eventChangeRepository;
+    private final EventService eventService;
+    private final SchedulerLease schedulerLease;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final PriorityQueue<EventTransition> queue = new PriorityQueue<>(
+            Comparator.comparing(EventTransition::getDueDateTime).thenComparing(EventTransition::getId));
+
+    @Value("${app.events.lifecycle.enabled:true}")
+    boolean enabled;
+
+    @Value("${app.events.lifecycle.tick:1s}")
+    Duration tickInterval;
+
+    @Value("${app.events.lifecycle.horizon:10m}")
+    Duration horizon;
+
+    @Value("${app.events.lifecycle.refresh-interval:1m}")
+    Duration refreshInterval;
+
+    @Value("${app.events.lifecycle.lease-time:30s}")
+    Duration leaseTime;
+
+    @Value("${app.events.lifecycle.batch-size:500}")
+    int batchSize;
+
+    @Value("${app.events.lifecycle.max-queued:100000}")
+    int maxQueued;
+
+    private LocalDateTime nextLoad;
+    private ScheduledFuture<?> ticks;
+
+    public EventLifecycleScheduler(EventRepositoy eventRepositoy, EventChangeRepository eventChangeRepository,
+                                   EventService eventService, SchedulerLease schedulerLease,
+                                   TransactionTemplate transactionTemplate, TaskScheduler taskScheduler) {
+        this.eventRepositoy = eventRepositoy;
+        this.eventChangeRepository = eventChangeRepository;
+        this.eventService = eventService;
+        this.schedulerLease = schedulerLease;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return this.enabled;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (this.ticks == null) {
+            this.ticks = this.taskScheduler.scheduleWithFixedDelay(this::run,
+                    Instant.now().plus(this.tickInterval), this.tickInterval);
+        }
+    }
+
+    @Override
+    public void stop() {
+        ScheduledFuture<?> ticks;
+        synchronized (this) {
+            ticks = this.ticks;
+            this.ticks = null;
+        }
+        if (ticks != null) {
+            ticks.cancel(false);
+            this.schedulerLease.release(LEASE_NAME);
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return this.ticks != null;
+    }
+
+    private void run() {
+        try {
+            tick(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            // 다음 tick 에서 처음부터 다시 읽는다.
+            log.warn("event lifecycle tick failed", e);
+            reset();
+        }
+    }
+
+    /**
+     * now 까지 시각이 된 전이를 적용하고 옮긴 이벤트 수를 돌려준다.
+     */
+    synchronized int tick(LocalDateTime now) {
+        if (!this.schedulerLease.tryAcquire(LEASE_NAME, now, this.leaseTime)) {
+            reset();
+            return 0;
+        }
+
+        int transitioned = 0;
+        int applied;
+        do {
+            if (this.nextLoad == null || !now.isBefore(this.nextLoad)) {
+                load(now);
+            }
+            applied = applyDue(now);
+            transitioned += applied;
+            // 큐를 다 못 올렸으면 이어서 읽는다. 옮긴 게 없으면 남은 건 다음 tick 에 맡긴다.
+        } while (applied > 0 && !now.isBefore(this.nextLoad));
+        return transitioned;
+    }
+
+    private void load(LocalDateTime now) {
+        this.queue.clear();
+        LocalDateTime until = now.plus(this.horizon);
+        EventTransition last = null;
+        while (this.queue.size() < this.maxQueued) {
+            int size = Math.min(this.batchSize, this.maxQueued - this.queue.size());
+            List<EventTransition> page = this.eventRepositoy.findEnrollmentBeginnings(until, last, size);
+            this.queue.addAll(page);
+            if (page.size() < size) {
+                this.nextLoad = now.plus(this.refreshInterval);
+                return;
+            }
+            last = page.get(page.size() - 1);
+        }
+        // 다 올리지 못했다. 마지막으로 올린 전이를 처리할 때 이어서 읽는다.
+        this.nextLoad = min(last.getDueDateTime(), now.plus(this.refreshInterval));
+    }
+
+    private int applyDue(LocalDateTime now) {
+        int transitioned = 0;
+        while (!this.queue.isEmpty() && !this.queue.peek().getDueDateTime().isAfter(now)) {
+            List<Integer> ids = new ArrayList<>(this.batchSize);
+            while (ids.size() < this.batchSize && !this.queue.isEmpty()
+                    && !this.queue.peek().getDueDateTime().isAfter(now)) {
+                ids.add(this.queue.poll().getId());
+            }
+            Integer updated = this.transactionTemplate.execute(status -> {
+                int count = this.eventRepositoy.beginEnrollment(ids, now);
+                if (count > 0) {
+                    this.eventChangeRepository.saveAll(ids.stream()
+                            .map(id -> EventChange.of(id, EventChange.Type.UPDATED))
+                            .collect(Collectors.toList()));
+                }
+                return count;
+            });
+            // 캐시에 있는 이전 상태를 버린다. 건너뛴 이벤트까지 버리거나 변경으로 알려도 구독자가 다시 읽을 뿐이다.
+            ids.forEach(this.eventService::evict);
+            transitioned += updated == null ? 0 : updated;
+        }
+        if (transitioned > 0) {
+            log.info("{} events began enrollment", transitioned);
+        }
+        return transitioned;
+    }
+
+    synchronized void reset() {
+        this.queue.clear();
+        this.nextLoad = null;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+}
@@ -0,0 +1,43 @@
+package dev.artiveloper.restapiexample.events;
+
+import org.springframework.hateoas.Link;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+
+/**
+ * 이벤트 링크 팩토리. EventController 의 기준 URI 는 생성할 때 한 번만 구하고,
+ * 이벤트별 링크는 문자열 연결로 만든다. (linkTo 는 호출할 때마다 매핑과 현재 요청을 다시 본다)
+ */
+public class EventLinks {
+
+    private final String baseHref;
+
+    private EventLinks(String baseHref) {
+        this.baseHref = baseHref;
+    }
+
+    public static EventLinks fromCurrentRequest() {
+        return new EventLinks(linkTo(EventController.class).toUri().toString());
+    }
+
+    public static EventLinks of(String baseHref) {
+        return new EventLinks(baseHref);
+    }
+
+    public String href(Integer id) {
+        return this.baseHref + "/" + id;
+    }
+
+    public Link self(Integer id) {
+        return new Link(href(id));
+    }
+
+    public Link updateEvent(Integer id) {
+        return new Link(href(id), "update-event");
+    }
+
+    public Link queryEvents() {
+        return new Link(this.baseHref, "query-events");
+    }
+
+}
@@ -0,0 +1,35 @@
+package dev.artiveloper.restapiexample.events;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * EventDto -> Event 매핑. 구현체는 컴파일 시점에 MapStruct 가 생성한다. (리플렉션 없음)
+ */
+@Mapper(componentModel = "spring")
+public interface EventMapper {
+
+    EventMapper INSTANCE = Mappers.getMapper(EventMapper.class);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "offline", ignore = true)
+    @Mapping(target = "free", ignore = true)
+    @Mapping(target = "manager", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "lastModifiedDateTime", ignore = true)
+    @Mapping(target = "enrolledCount", ignore = true)
+    @Mapping(target = "eventStatus", constant = "DTAFT")
+    Event toEventEntity(EventDto eventDto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "offline", ignore = true)
+    @Mapping(target = "free", ignore = true)
+    @Mapping(target = "manager", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "lastModifiedDateTime", ignore = true)
+    @Mapping(target = "enrolledCount", ignore = true)
+    void update(EventDto eventDto, @MappingTarget Event event);
+
+}
@@ -0,0 +1,22 @@
+package dev.artiveloper.restapiexample.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.hateoas.Link;
+
+import java.util.List;
+
+/**
+ * 이벤트 목록 응답. EventResource / PagedResources 를 만들지 않고
+ * EventPageSerializer 가 HAL 형식으로 바로 쓴다.
+ */
+@Getter
+@AllArgsConstructor
+public class EventPage {
+
+    private final Page<? extends VersionedEvent> page; // Event 또는 EventFields
+    private final EventLinks eventLinks;
+    private final List<Link> links;
+
+}
@@ -0,0 +1,82 @@
+package dev.artiveloper.restapiexample.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.boot.jackson.JsonComponent;
+import org.springframework.data.domain.Page;
+import org.springframework.hateoas.Link;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EventPage 를 PagedResources + EventResource 와 같은 HAL 문서로 직접 쓴다.
+ * 이벤트 필드는 Event 의 BeanSerializer 를 unwrapping 으로 재사용한다. (EventFields 는 고른 필드만 쓴다)
+ */
+@JsonComponent
+public class EventPageSerializer extends JsonSerializer<EventPage> {
+
+    @Override
+    public void serialize(EventPage eventPage, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        Page<? extends VersionedEvent> page = eventPage.getPage();
+        EventLinks eventLinks = eventPage.getEventLinks();
+
+        jsonGenerator.writeStartObject();
+
+        if (page.hasContent()) {
+            JsonSerializer<Object> eventSerializer = null;
+
+            jsonGenerator.writeObjectFieldStart("_embedded");
+            jsonGenerator.writeArrayFieldStart("eventList");
+            for (VersionedEvent event : page) {
+                jsonGenerator.writeStartObject();
+                if (event instanceof EventFields) {
+                    for (Map.Entry<String, Object> field : ((EventFields) event).getValues().entrySet()) {
+                        serializerProvider.defaultSerializeField(field.getKey(), field.getValue(), jsonGenerator);
+                    }
+                } else {
+                    if (eventSerializer == null) {
+                        eventSerializer = serializerProvider.findValueSerializer(Event.class).unwrappingSerializer(null);
+                    }
+                    eventSerializer.serialize(event, jsonGenerator, serializerProvider);
+                }
+                jsonGenerator.writeObjectFieldStart("_links");
+                writeLink(jsonGenerator, eventLinks.self(event.getId()));
+                jsonGenerator.writeEndObject();
+                jsonGenerator.writeEndObject();
+            }
+            jsonGenerator.writeEndArray();
+            jsonGenerator.writeEndObject();
+        }
+
+        List<Link> links = eventPage.getLinks();
+        if (!links.isEmpty()) {
+            jsonGenerator.writeObjectFieldStart("_links");
+            for (Link link : links) {
+                writeLink(jsonGenerator, link);
+            }
+            jsonGenerator.writeEndObject();
+        }
+
+        jsonGenerator.writeObjectFieldStart("page");
+        jsonGenerator.writeNumberField("size", page.getSize());
+        jsonGenerator.writeNumberField("totalElements", page.getTotalElements());
+        jsonGenerator.writeNumberField("totalPages", page.getTotalPages());
+        jsonGenerator.writeNumberField("number", page.getNumber());
+        jsonGenerator.writeEndObject();
+
+        jsonGenerator.writeEndObject();
+    }
+
+    private void writeLink(JsonGenerator jsonGenerator, Link link) throws IOException {
+        jsonGenerator.writeObjectFieldStart(link.getRel());
+        jsonGenerator.writeStringField("href", link.getHref());
+        if (link.isTemplated()) {
+            jsonGenerator.writeBooleanField("templated", true);
+        }
+        jsonGenerator.writeEndObject();
+    }
+
+}
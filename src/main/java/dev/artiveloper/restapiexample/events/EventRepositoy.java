@@ -1,6 +1,76 @@
 package dev.artiveloper.restapiexample.events;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface EventRepositoy extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event>, EventRepositoyCustom {
+
+    @Override
+    @EntityGraph("Event.withManager")
+    Page<Event> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph("Event.withManager")
+    Page<Event> findAll(Specification<Event> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph("Event.withManager")
+    Optional<Event> findById(Integer id);
+
+    // manager 는 id 만 가진 프록시로 남긴다. 캐시에 계정 정보가 함께 올라가지 않는다.
+    Optional<Event> findEventById(Integer id);
+
+    // 서버 측 커서로 한 행씩 읽는다. 트랜잭션 안에서만 사용하고 다 쓰면 반드시 close 해야 한다.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select e from Event e order by e.id")
+    Stream<Event> streamAllByOrderById();
+
+    @Query("select e.limitOfEnrollment - e.enrolledCount from Event e where e.id = :id")
+    Optional<Integer> findRemainingSeats(@Param("id") Integer id);
+
+    // 신청 기간 중이고 남은 자리가 있을 때만 한 자리를 차지한다. 읽고-고치고-쓰기 없이 한 문장으로 판정하므로 초과 등록이 없다.
+    // 행 잠금은 이 UPDATE 부터 커밋까지만 잡힌다.
+    @Modifying
+    @Query("update Event e set e.enrolledCount = e.enrolledCount + 1 "
+            + "where e.id = :id and e.enrolledCount < e.limitOfEnrollment "
+            + "and e.eventStatus = dev.artiveloper.restapiexample.events.EventStatus.BEGAN_ENROLLMENT "
+            + "and e.closeEnrollmentDateTime > :now")
+    int incrementEnrolledCount(@Param("id") Integer id, @Param("now") LocalDateTime now);
+
+    // incrementEnrolledCount 가 0 일 때 매진인지 신청 기간이 아닌지 가른다.
+    @Query("select case when count(e) > 0 then true else false end from Event e where e.id = :id "
+            + "and e.eventStatus = dev.artiveloper.restapiexample.events.EventStatus.BEGAN_ENROLLMENT "
+            + "and e.closeEnrollmentDateTime > :now")
+    boolean isEnrollmentOpen(@Param("id") Integer id, @Param("now") LocalDateTime now);
+
+    // 큐에 올린 뒤 바뀐 이벤트는 건너뛰도록 상태와 시각을 다시 확인한다. 버전과 수정 시각도 올려서 ETag 가 바뀐다.
+    @Modifying
+    @Query("update Event e set e.eventStatus = dev.artiveloper.restapiexample.events.EventStatus.BEGAN_ENROLLMENT, "
+            + "e.version = e.version + 1, e.lastModifiedDateTime = :now "
+            + "where e.id in :ids and e.eventStatus = dev.artiveloper.restapiexample.events.EventStatus.PUBLISHED "
+            + "and e.beginEnrollmentDateTime <= :now")
+    int beginEnrollment(@Param("ids") Collection<Integer> ids, @Param("now") LocalDateTime now);
 
-public interface EventRepositoy extends JpaRepository<Event, Integer> {
 }
@@ -0,0 +1,22 @@
+package dev.artiveloper.restapiexample.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventRepositoyCustom {
+
+    // spec 은 null 이면 조건 없이 조회한다.
+    Slice<Event> findAllAfter(EventCursor cursor, Specification<Event> spec, int size);
+
+    // spec 은 null 이면 조건 없이 조회한다.
+    Page<EventFields> findAllFields(List<String> fields, Specification<Event> spec, Pageable pageable);
+
+    // until 까지 참가 신청이 시작되는 PUBLISHED 이벤트를 (beginEnrollmentDateTime, id) 순으로 읽는다. after 는 null 이면 처음부터.
+    List<EventTransition> findEnrollmentBeginnings(LocalDateTime until, EventTransition after, int size);
+
+}
@@ -0,0 +1,185 @@
+package dev.artiveloper.restapiexample.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toList;
+
+public class EventRepositoyImpl implements EventRepositoyCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Event> findAllAfter(EventCursor cursor, Specification<Event> spec, int size) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+        root.fetch("manager", JoinType.LEFT);
+
+        Path<Comparable> key = root.get(cursor.getProperty());
+        Path<Integer> id = root.get("id");
+        boolean ascending = cursor.getDirection().isAscending();
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (cursor.hasPosition()) {
+            predicates.add(seek(cb, key, id, cursor));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(ascending ? cb.asc(key) : cb.desc(key), ascending ? cb.asc(id) : cb.desc(id));
+
+        // 다음 페이지 존재 여부는 한 건 더 읽어서 판단한다. count 쿼리는 실행하지 않는다.
+        List<Event> events = this.entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = events.size() > size;
+        List<Event> content = hasNext ? events.subList(0, size) : events;
+        return new SliceImpl<>(content, PageRequest.of(0, size, cursor.toSort()), hasNext);
+    }
+
+    // idx_event_status_begin_enrollment 를 따라 읽는다. 엔티티 대신 id 와 시각만 만든다.
+    @Override
+    public List<EventTransition> findEnrollmentBeginnings(LocalDateTime until, EventTransition after, int size) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventTransition> query = cb.createQuery(EventTransition.class);
+        Root<Event> root = query.from(Event.class);
+
+        Path<LocalDateTime> key = root.get("beginEnrollmentDateTime");
+        Path<Integer> id = root.get("id");
+        query.select(cb.construct(EventTransition.class, id, key));
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("eventStatus"), EventStatus.PUBLISHED));
+        predicates.add(cb.lessThanOrEqualTo(key, until));
+        if (after != null) {
+            LocalDateTime value = after.getDueDateTime();
+            predicates.add(cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(id, after.getId()))));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(key), cb.asc(id));
+
+        return this.entityManager.createQuery(query)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    // 고른 컬럼만 Tuple 로 읽는다. 엔티티를 만들지 않으니 dirty checking 스냅샷도 없다.
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventFields> findAllFields(List<String> fields, Specification<Event> spec, Pageable pageable) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> root = query.from(Event.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("version").alias("version"));
+        selections.add(root.get("lastModifiedDateTime").alias("lastModifiedDateTime"));
+        for (String field : fields) {
+            if ("manager".equals(field)) {
+                selections.add(root.join("manager", JoinType.LEFT).get("id").alias(field));
+            } else {
+                selections.add(root.get(field).alias(field));
+            }
+        }
+        query.multiselect(selections);
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = this.entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<EventFields> content = typedQuery.getResultList().stream()
+                .map(tuple -> toEventFields(tuple, fields))
+                .collect(toList());
+        return PageableExecutionUtils.getPage(content, pageable, () -> countMatching(spec));
+    }
+
+    private EventFields toEventFields(Tuple tuple, List<String> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object value = tuple.get(field);
+            if ("manager".equals(field) && value != null) {
+                value = Collections.singletonMap("id", value);
+            }
+            values.put(field, value);
+        }
+        return new EventFields(tuple.get("id", Integer.class), tuple.get("version", Long.class),
+                tuple.get("lastModifiedDateTime", LocalDateTime.class), values);
+    }
+
+    // 이름이 count 면 스프링 데이터가 저장소의 count(Specification) 호출을 이 private 메서드로 보낸다.
+    private long countMatching(Specification<Event> spec) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(cb.count(root));
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        return this.entityManager.createQuery(query).getSingleResult();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate seek(CriteriaBuilder cb, Expression<Comparable> key, Expression<Integer> id, EventCursor cursor) {
+        Comparable value = cursor.getValue();
+        Integer lastId = cursor.getId();
+
+        if (cursor.getDirection().isAscending()) {
+            if ("id".equals(cursor.getProperty())) {
+                return cb.greaterThan(id, lastId);
+            }
+            return cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(id, lastId)));
+        }
+
+        if ("id".equals(cursor.getProperty())) {
+            return cb.lessThan(id, lastId);
+        }
+        return cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(id, lastId)));
+    }
+
+}
@@ -3,13 +3,16 @@ package dev.artiveloper.restapiexample.events;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.Resource;
 
-import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
-
 public class EventResource extends Resource<Event> {
 
     public EventResource(Event event, Link... links) {
+        this(event, EventLinks.fromCurrentRequest(), links);
+    }
+
+    // 목록처럼 여러 건을 만들 때는 요청마다 한 번 만든 EventLinks 를 넘긴다.
+    public EventResource(Event event, EventLinks eventLinks, Link... links) {
         super(event, links);
-        add(linkTo(EventController.class).slash(event.getId()).withSelfRel());
+        add(eventLinks.self(event.getId()));
     }
 
 }
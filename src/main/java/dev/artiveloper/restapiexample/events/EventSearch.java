@@ -0,0 +1,42 @@
+package dev.artiveloper.restapiexample.events;
+
+import lombok.Data;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이벤트 목록 검색 조건. 값이 없는 조건은 적용하지 않는다.
+ */
+@Data
+public class EventSearch {
+
+    private EventStatus eventStatus;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginFrom; // beginEventDateTime 이상
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beginTo; // beginEventDateTime 미만
+    private Integer priceFrom; // basePrice 이상
+    private Integer priceTo; // basePrice 이하
+    private Boolean offline;
+    private Boolean free;
+    private String q; // name, description 부분 일치
+
+    public boolean isEmpty() {
+        return eventStatus == null && beginFrom == null && beginTo == null
+                && priceFrom == null && priceTo == null
+                && offline == null && free == null
+                && (q == null || q.trim().isEmpty());
+    }
+
+    public Specification<Event> toSpecification() {
+        return Specification.where(EventSpecifications.hasStatus(eventStatus))
+                .and(EventSpecifications.beginsBetween(beginFrom, beginTo))
+                .and(EventSpecifications.basePriceBetween(priceFrom, priceTo))
+                .and(EventSpecifications.isOffline(offline))
+                .and(EventSpecifications.isFree(free))
+                .and(EventSpecifications.containsText(q));
+    }
+
+}
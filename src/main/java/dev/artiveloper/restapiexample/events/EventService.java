@@ -0,0 +1,52 @@
+package dev.artiveloper.restapiexample.events;
+
+import dev.artiveloper.restapiexample.common.PrimaryReads;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * 이벤트 단건 조회 앞단의 read-through 캐시. 캐시 구현은 spring.cache.* 설정으로 바꿀 수 있다.
+ * (기본은 Caffeine, 여러 노드가 공유해야 하면 Redis 등)
+ * 캐시된 인스턴스는 여러 요청이 공유하므로 수정할 때는 저장소에서 새로 읽어야 한다.
+ * 저장할 때는 같은 트랜잭션에서 변경 아웃박스(EventChange)를 함께 쓴다.
+ */
+@Service
+@CacheConfig(cacheNames = EventService.EVENTS_CACHE)
+public class EventService {
+
+    public static final String EVENTS_CACHE = "events";
+
+    @Autowired
+    EventRepositoy eventRepositoy;
+
+    @Autowired
+    EventChangeRepository eventChangeRepository;
+
+    // 지운 직후에 레플리카에서 옛 행을 읽어 TTL 동안 캐시하지 않도록 프라이머리에서 읽는다.
+    @Cacheable(unless = "#result == null")
+    public Optional<Event> getEvent(Integer id) {
+        return PrimaryReads.read(() -> this.eventRepositoy.findEventById(id));
+    }
+
+    // 저장한 인스턴스는 요청에 묶인 엔티티이고 수정할 때는 manager 계정까지 읽혀 있으므로 캐시에 넣지 않고 지운다.
+    // 다음 조회가 findEventById 로 다시 읽어 캐시한다.
+    @Transactional
+    @CacheEvict(key = "#result.id")
+    public Event save(Event event) {
+        EventChange.Type type = event.getId() == null ? EventChange.Type.CREATED : EventChange.Type.UPDATED;
+        Event savedEvent = this.eventRepositoy.save(event);
+        this.eventChangeRepository.save(EventChange.of(savedEvent.getId(), type));
+        return savedEvent;
+    }
+
+    @CacheEvict
+    public void evict(Integer id) {
+    }
+
+}
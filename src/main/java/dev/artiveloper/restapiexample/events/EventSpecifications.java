@@ -0,0 +1,99 @@
+package dev.artiveloper.restapiexample.events;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 이벤트 검색 조건. 인자가 null 이면 null 을 돌려주어 Specification.where/and 에서 빠진다.
+ */
+public final class EventSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> hasStatus(EventStatus eventStatus) {
+        if (eventStatus == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("eventStatus"), eventStatus);
+    }
+
+    public static Specification<Event> beginsBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Expression<LocalDateTime> begin = root.get("beginEventDateTime");
+            List<Predicate> predicates = new ArrayList<>();
+            if (from != null) {
+                predicates.add(cb.greaterThanOrEqualTo(begin, from));
+            }
+            if (to != null) {
+                predicates.add(cb.lessThan(begin, to));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Event> basePriceBetween(Integer from, Integer to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Expression<Integer> basePrice = root.get("basePrice");
+            List<Predicate> predicates = new ArrayList<>();
+            if (from != null) {
+                predicates.add(cb.greaterThanOrEqualTo(basePrice, from));
+            }
+            if (to != null) {
+                predicates.add(cb.lessThanOrEqualTo(basePrice, to));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Event> isOffline(Boolean offline) {
+        if (offline == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("offline"), offline);
+    }
+
+    public static Specification<Event> isFree(Boolean free) {
+        if (free == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("free"), free);
+    }
+
+    // lower(name|description) like '%q%'. PostgreSQL 에서는 pg_trgm GIN 인덱스를 탄다. (db/event-indexes-postgresql.sql)
+    public static Specification<Event> containsText(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(text.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE));
+    }
+
+    private static String escapeLike(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                builder.append(LIKE_ESCAPE);
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+}
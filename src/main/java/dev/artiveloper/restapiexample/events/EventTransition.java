@@ -0,0 +1,22 @@
+package dev.artiveloper.restapiexample.events;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예정된 상태 전이 한 건. (이벤트 id 와 전이 시각) EventLifecycleScheduler 의 우선순위 큐 원소이자 키셋 위치다.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class EventTransition {
+
+    private final Integer id;
+    private final LocalDateTime dueDateTime;
+
+}
@@ -1,13 +1,34 @@
 package dev.artiveloper.restapiexample.events;
 
 import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
 
+import javax.validation.Validator;
 import java.time.LocalDateTime;
 
 @Component
 public class EventValidator {
 
+    private final SpringValidatorAdapter validator;
+
+    public EventValidator(Validator validator) {
+        this.validator = new SpringValidatorAdapter(validator);
+    }
+
+    /**
+     * @Valid 로 바인딩하지 않는 곳(배치, 리액티브 핸들러)에서 쓴다. 애노테이션 검증을 통과한 경우에만 아래 규칙을 본다.
+     */
+    public Errors validate(EventDto eventDto) {
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        this.validator.validate(eventDto, errors);
+        if (!errors.hasErrors()) {
+            valid(eventDto, errors);
+        }
+        return errors;
+    }
+
     public void valid(EventDto eventDto, Errors errors) {
         if (eventDto.getBasePrice() > eventDto.getMaxPrice() && eventDto.getMaxPrice() > 0) {
             errors.rejectValue("basePrice", "wrongValue", "basePrice is wrong.");
@@ -0,0 +1,347 @@
+package dev.artiveloper.restapiexample.events;
+
+import dev.artiveloper.restapiexample.common.ErrorResource;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.common.exceptions.OAuth2Exception;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+import org.springframework.util.MultiValueMap;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.net.URI;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+import static dev.artiveloper.restapiexample.events.EventETags.eTag;
+import static dev.artiveloper.restapiexample.events.EventETags.lastModified;
+import static dev.artiveloper.restapiexample.events.EventETags.matches;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * EventController 와 같은 /api/events 계약(생성, 목록, 단건, 수정)을 논블로킹 서버에서 제공한다.
+ * 이벤트 루프는 막지 않는다. JPA 호출과 토큰 확인은 jdbcScheduler(커넥션 풀 크기만큼의 스레드)에서 실행하고,
+ * 요청을 기다리는 동안에는 스레드를 쓰지 않는다.
+ */
+public class ReactiveEventHandler {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 2000;
+    private static final String RESOURCE_ID = "event";
+
+    private final EventRepositoy eventRepositoy;
+    private final EventService eventService;
+    private final EventValidator eventValidator;
+    private final EventMapper eventMapper;
+    private final ResourceServerTokenServices tokenServices;
+    private final Scheduler jdbcScheduler;
+    private final ConversionService conversionService = new DefaultFormattingConversionService();
+
+    public ReactiveEventHandler(EventRepositoy eventRepositoy, EventService eventService,
+                                EventValidator eventValidator, EventMapper eventMapper,
+                                ResourceServerTokenServices tokenServices, Scheduler jdbcScheduler) {
+        this.eventRepositoy = eventRepositoy;
+        this.eventService = eventService;
+        this.eventValidator = eventValidator;
+        this.eventMapper = eventMapper;
+        this.tokenServices = tokenServices;
+        this.jdbcScheduler = jdbcScheduler;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return route()
+                .POST("/api/events", this::createEvent)
+                .GET("/api/events", this::queryEvents)
+                .GET("/api/events/{id}", this::getEvent)
+                .PUT("/api/events/{id}", this::updateEvent)
+                .filter(this::authenticate)
+                // jdbcScheduler 의 대기열까지 찼다.
+                .onError(RejectedExecutionException.class,
+                        (e, request) -> ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).build())
+                .build();
+    }
+
+    Mono<ServerResponse> createEvent(ServerRequest request) {
+        return request.bodyToMono(EventDto.class)
+                .flatMap(eventDto -> {
+                    Errors errors = this.eventValidator.validate(eventDto);
+                    if (errors.hasErrors()) {
+                        return badRequest(request, errors);
+                    }
+                    Event newEvent = eventDto.toEventEntity();
+                    newEvent.update();
+                    return blocking(() -> this.eventService.save(newEvent)).flatMap(savedEvent -> {
+                        EventLinks eventLinks = eventLinks(request);
+                        EventResource eventResource = new EventResource(savedEvent, eventLinks);
+                        eventResource.add(eventLinks.queryEvents());
+                        eventResource.add(eventLinks.updateEvent(savedEvent.getId()));
+                        return ServerResponse.created(URI.create(eventLinks.href(savedEvent.getId())))
+                                .contentType(MediaTypes.HAL_JSON_UTF8)
+                                .syncBody(eventResource);
+                    });
+                })
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.badRequest().build()));
+    }
+
+    Mono<ServerResponse> queryEvents(ServerRequest request) {
+        MultiValueMap<String, String> params = request.queryParams();
+
+        EventSearch search = new EventSearch();
+        WebDataBinder binder = new WebDataBinder(search, "search");
+        binder.setConversionService(this.conversionService);
+        binder.bind(new MutablePropertyValues(params.toSingleValueMap()));
+        if (binder.getBindingResult().hasErrors()) {
+            return badRequest(request, binder.getBindingResult());
+        }
+
+        Pageable pageable;
+        List<String> selectedFields = null;
+        try {
+            pageable = pageable(params);
+            String fields = params.getFirst("fields");
+            if (fields != null) {
+                selectedFields = EventFields.parse(fields);
+            }
+        } catch (IllegalArgumentException e) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "fields");
+            errors.reject("wrongValue", e.getMessage());
+            return badRequest(request, errors);
+        }
+
+        List<String> finalFields = selectedFields;
+        Mono<Page<? extends VersionedEvent>> page = blocking(() -> {
+            if (finalFields != null) {
+                return this.eventRepositoy.findAllFields(finalFields, search.isEmpty() ? null : search.toSpecification(), pageable);
+            } else if (search.isEmpty()) {
+                return this.eventRepositoy.findAll(pageable);
+            }
+            return this.eventRepositoy.findAll(search.toSpecification(), pageable);
+        });
+
+        return page.flatMap(p -> {
+            String eTag = eTag(p);
+            long lastModified = lastModified(p);
+            if (request.exchange().checkNotModified(eTag, Instant.ofEpochMilli(lastModified))) {
+                return notModified(eTag, lastModified);
+            }
+
+            EventPage eventPage = new EventPage(p, eventLinks(request), pageLinks(request, p));
+            return ok(eTag, lastModified).syncBody(eventPage);
+        });
+    }
+
+    Mono<ServerResponse> getEvent(ServerRequest request) {
+        Integer id = id(request);
+        return blocking(() -> this.eventService.getEvent(id)).flatMap(optionalEvent -> {
+            if (!optionalEvent.isPresent()) {
+                return ServerResponse.notFound().build();
+            }
+
+            Event event = optionalEvent.get();
+            if (request.exchange().checkNotModified(eTag(event), Instant.ofEpochMilli(lastModified(event)))) {
+                return notModified(eTag(event), lastModified(event));
+            }
+            return ok(eTag(event), lastModified(event)).syncBody(new EventResource(event, eventLinks(request)));
+        });
+    }
+
+    Mono<ServerResponse> updateEvent(ServerRequest request) {
+        Integer id = id(request);
+        String ifMatch = request.headers().asHttpHeaders().getFirst(HttpHeaders.IF_MATCH);
+        return request.bodyToMono(EventDto.class)
+                .flatMap(eventDto -> {
+                    Errors errors = this.eventValidator.validate(eventDto);
+                    if (errors.hasErrors()) {
+                        return badRequest(request, errors);
+                    }
+
+                    // 캐시된 인스턴스는 공유되므로 수정할 대상은 저장소에서 새로 읽는다.
+                    return blocking(() -> this.eventRepositoy.findById(id)).flatMap(optionalEvent -> {
+                        if (!optionalEvent.isPresent()) {
+                            return ServerResponse.notFound().build();
+                        }
+
+                        Event event = optionalEvent.get();
+                        if (ifMatch != null && !matches(ifMatch, eTag(event))) {
+                            return ServerResponse.status(HttpStatus.PRECONDITION_FAILED).eTag(eTag(event)).build();
+                        }
+
+                        this.eventMapper.update(eventDto, event);
+                        return blocking(() -> this.eventService.save(event))
+                                .flatMap(updatedEvent -> ok(eTag(updatedEvent), lastModified(updatedEvent))
+                                        .syncBody(new EventResource(updatedEvent, eventLinks(request))))
+                                .onErrorResume(ObjectOptimisticLockingFailureException.class, e -> {
+                                    // 읽은 뒤 저장하기 전에 다른 요청이 먼저 수정했다.
+                                    this.eventService.evict(id);
+                                    return ServerResponse.status(HttpStatus.PRECONDITION_FAILED).build();
+                                });
+                    });
+                })
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.badRequest().build()));
+    }
+
+    // ResourceServerConfiguration 과 같은 규칙: GET 은 익명, 나머지는 resourceId 가 맞는 Bearer 토큰이 필요하다.
+    private Mono<ServerResponse> authenticate(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        if (request.method() == HttpMethod.GET) {
+            return next.handle(request);
+        }
+
+        String authorization = request.headers().asHttpHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return unauthorized();
+        }
+
+        String accessToken = authorization.substring(7).trim();
+        return blocking(() -> isAuthenticated(accessToken))
+                .flatMap(authenticated -> authenticated ? next.handle(request) : unauthorized());
+    }
+
+    private boolean isAuthenticated(String accessToken) {
+        try {
+            OAuth2Authentication authentication = this.tokenServices.loadAuthentication(accessToken);
+            if (authentication == null) {
+                return false;
+            }
+            Collection<String> resourceIds = authentication.getOAuth2Request().getResourceIds();
+            return resourceIds == null || resourceIds.isEmpty() || resourceIds.contains(RESOURCE_ID);
+        } catch (AuthenticationException | OAuth2Exception e) {
+            return false;
+        }
+    }
+
+    private <T> Mono<T> blocking(Callable<T> callable) {
+        return Mono.fromCallable(callable).subscribeOn(this.jdbcScheduler);
+    }
+
+    private static Integer id(ServerRequest request) {
+        try {
+            return Integer.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("id must be a number");
+        }
+    }
+
+    private static Pageable pageable(MultiValueMap<String, String> params) {
+        int page = Math.max(intParam(params, "page", 0), 0);
+        int size = Math.min(Math.max(intParam(params, "size", DEFAULT_PAGE_SIZE), 1), MAX_PAGE_SIZE);
+
+        // sort=name,DESC 형식. 마지막 값이 방향이 아니면 모두 오름차순이다. (스프링 데이터 웹과 같다)
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String sortParam : params.getOrDefault("sort", new ArrayList<>())) {
+            String[] parts = sortParam.split(",");
+            Optional<Sort.Direction> direction = Sort.Direction.fromOptionalString(parts[parts.length - 1]);
+            int propertyCount = direction.isPresent() ? parts.length - 1 : parts.length;
+            for (int i = 0; i < propertyCount; i++) {
+                if (!parts[i].trim().isEmpty()) {
+                    orders.add(new Sort.Order(direction.orElse(Sort.Direction.ASC), parts[i].trim()));
+                }
+            }
+        }
+        return PageRequest.of(page, size, Sort.by(orders));
+    }
+
+    private static int intParam(MultiValueMap<String, String> params, String name, int defaultValue) {
+        String value = params.getFirst(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    // PagedResourcesAssembler 와 같은 first / prev / self / next / last 링크
+    private static List<Link> pageLinks(ServerRequest request, Page<?> page) {
+        List<Link> links = new ArrayList<>();
+        if (page.getTotalPages() > 1 || page.hasPrevious()) {
+            links.add(new Link(pageHref(request, 0, page), Link.REL_FIRST));
+        }
+        if (page.hasPrevious()) {
+            links.add(new Link(pageHref(request, page.getNumber() - 1, page), Link.REL_PREVIOUS));
+        }
+        links.add(new Link(pageHref(request, page.getNumber(), page), Link.REL_SELF));
+        if (page.hasNext()) {
+            links.add(new Link(pageHref(request, page.getNumber() + 1, page), Link.REL_NEXT));
+        }
+        if (page.getTotalPages() > 1 || page.hasPrevious()) {
+            links.add(new Link(pageHref(request, Math.max(page.getTotalPages() - 1, 0), page), Link.REL_LAST));
+        }
+        return links;
+    }
+
+    private static String pageHref(ServerRequest request, int number, Page<?> page) {
+        return UriComponentsBuilder.fromUri(request.uri())
+                .replaceQueryParam("page", number)
+                .replaceQueryParam("size", page.getSize())
+                .build().toUriString();
+    }
+
+    private static EventLinks eventLinks(ServerRequest request) {
+        return EventLinks.of(UriComponentsBuilder.fromUri(request.uri())
+                .replacePath("/api/events").replaceQuery(null)
+                .build().toUriString());
+    }
+
+    private static ServerResponse.BodyBuilder ok(String eTag, long lastModified) {
+        return withValidators(ServerResponse.ok(), eTag, lastModified).contentType(MediaTypes.HAL_JSON_UTF8);
+    }
+
+    private static Mono<ServerResponse> notModified(String eTag, long lastModified) {
+        return withValidators(ServerResponse.status(HttpStatus.NOT_MODIFIED), eTag, lastModified).build();
+    }
+
+    private static ServerResponse.BodyBuilder withValidators(ServerResponse.BodyBuilder builder, String eTag, long lastModified) {
+        builder.eTag(eTag);
+        if (lastModified >= 0) {
+            builder.lastModified(Instant.ofEpochMilli(lastModified).atZone(ZoneOffset.UTC));
+        }
+        return builder;
+    }
+
+    private static Mono<ServerResponse> unauthorized() {
+        return ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer realm=\"" + RESOURCE_ID + "\"")
+                .build();
+    }
+
+    private static Mono<ServerResponse> badRequest(ServerRequest request, Errors errors) {
+        String indexHref = UriComponentsBuilder.fromUri(request.uri())
+                .replacePath("/api").replaceQuery(null)
+                .build().toUriString();
+        return ServerResponse.badRequest()
+                .contentType(MediaTypes.HAL_JSON_UTF8)
+                .syncBody(new ErrorResource(errors, indexHref));
+    }
+
+}
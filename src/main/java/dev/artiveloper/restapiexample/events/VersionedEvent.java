@@ -0,0 +1,16 @@
+package dev.artiveloper.restapiexample.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * ETag / Last-Modified 를 계산하는 데 필요한 값. Event 와 EventFields 가 공유한다.
+ */
+public interface VersionedEvent {
+
+    Integer getId();
+
+    Long getVersion();
+
+    LocalDateTime getLastModifiedDateTime();
+
+}
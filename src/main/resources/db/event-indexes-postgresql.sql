@@ -0,0 +1,6 @@
+-- hibernate.hbm2ddl.import_files 로 스키마 생성 직후 실행된다. (real 프로필)
+-- 한 줄에 한 문장씩 쓴다.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_event_name_trgm ON event USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_event_description_trgm ON event USING gin (lower(description) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_event_change_unpublished ON event_change (id) WHERE position IS NULL;
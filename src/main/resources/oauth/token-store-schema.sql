@@ -0,0 +1,21 @@
+CREATE TABLE IF NOT EXISTS oauth_access_token (
+    token_id          VARCHAR(256),
+    token             BYTEA,
+    authentication_id VARCHAR(256) PRIMARY KEY,
+    user_name         VARCHAR(256),
+    client_id         VARCHAR(256),
+    authentication    BYTEA,
+    refresh_token     VARCHAR(256)
+);
+
+CREATE INDEX IF NOT EXISTS idx_oauth_access_token_token_id ON oauth_access_token (token_id);
+CREATE INDEX IF NOT EXISTS idx_oauth_access_token_refresh_token ON oauth_access_token (refresh_token);
+CREATE INDEX IF NOT EXISTS idx_oauth_access_token_client_user ON oauth_access_token (client_id, user_name);
+
+CREATE TABLE IF NOT EXISTS oauth_refresh_token (
+    token_id       VARCHAR(256),
+    token          BYTEA,
+    authentication BYTEA
+);
+
+CREATE INDEX IF NOT EXISTS idx_oauth_refresh_token_token_id ON oauth_refresh_token (token_id);
@@ -7,6 +7,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -32,6 +33,9 @@ public class AccountServiceTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     @Test
     public void findByUsernameTest() {
         String email = "artiveloper@gmail.com";
@@ -50,6 +54,33 @@ public class AccountServiceTest {
         assertThat(this.passwordEncoder.matches(password, userDetails.getPassword())).isTrue();
     }
 
+    @Test
+    public void loadUserByUsername_cached() {
+        String email = "cached@gmail.com";
+        String password = "password";
+        Account account = Account.builder()
+                .email(email)
+                .password(password)
+                .roles(new HashSet<>(Arrays.asList(AccountRole.USER)))
+                .build();
+        this.accountService.save(account);
+
+        long hitCount = this.userDetailsCache.stats().hitCount();
+        UserDetails first = accountService.loadUserByUsername(email);
+        ((User) first).eraseCredentials();
+        UserDetails second = accountService.loadUserByUsername(email);
+
+        assertThat(this.userDetailsCache.stats().hitCount()).isEqualTo(hitCount + 1);
+        assertThat(second.getPassword()).isNotNull();
+        assertThat(this.passwordEncoder.matches(password, second.getPassword())).isTrue();
+
+        account.setPassword("newPassword");
+        this.accountService.save(account);
+
+        UserDetails updated = accountService.loadUserByUsername(email);
+        assertThat(this.passwordEncoder.matches("newPassword", updated.getPassword())).isTrue();
+    }
+
     @Test
     public void findByUsername_notFoundUserName() {
         String email = "user@notfound.com";
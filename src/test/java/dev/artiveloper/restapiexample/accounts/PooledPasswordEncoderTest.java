@@ -0,0 +1,85 @@
+package dev.artiveloper.restapiexample.accounts;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PooledPasswordEncoderTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final PooledPasswordEncoder encoder = new PooledPasswordEncoder(new BlockingPasswordEncoder(release),
+            1, 1, Duration.ofSeconds(5));
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    public void encode() {
+        release.countDown();
+        assertThat(encoder.encode("password")).isEqualTo("encoded:password");
+        assertThat(encoder.matches("password", "encoded:password")).isTrue();
+    }
+
+    @Test
+    public void 대기열이_가득차면_거절() throws Exception {
+        CompletableFuture.runAsync(() -> encoder.encode("running"));
+        CompletableFuture.runAsync(() -> encoder.encode("queued"));
+        while (encoder.getActiveCount() < 1 || encoder.getQueueSize() < 1) {
+            Thread.sleep(10);
+        }
+
+        expectedException.expect(PasswordHashingRejectedException.class);
+        encoder.encode("rejected");
+    }
+
+    @Test
+    public void upgradeEncoding_낮은_cost() {
+        AdaptivePasswordEncoder adaptive = new AdaptivePasswordEncoder(5);
+
+        assertThat(adaptive.upgradeEncoding(new AdaptivePasswordEncoder(4).encode("password"))).isTrue();
+        assertThat(adaptive.upgradeEncoding(adaptive.encode("password"))).isFalse();
+        assertThat(adaptive.upgradeEncoding("{noop}password")).isTrue();
+        assertThat(adaptive.matches("password", "{noop}password")).isTrue();
+    }
+
+    private static class BlockingPasswordEncoder implements PasswordEncoder {
+
+        private final CountDownLatch release;
+
+        BlockingPasswordEncoder(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "encoded:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+
+    }
+
+}
@@ -0,0 +1,62 @@
+package dev.artiveloper.restapiexample.common;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.backend=database"
+})
+public class DatabaseRateLimiterTest extends BaseControllerTest {
+
+    private static final RateLimit LIMIT = RateLimit.of(10, Duration.ofSeconds(1), 2);
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Autowired
+    RateLimiter rateLimiter;
+
+    @Autowired
+    RateLimitBucketRepository rateLimitBucketRepository;
+
+    @After
+    public void tearDown() {
+        this.rateLimitBucketRepository.deleteAll();
+    }
+
+    @Test
+    public void 노드가_함께_쓰는_버킷() {
+        assertThat(this.rateLimiter).isInstanceOf(DatabaseRateLimiter.class);
+        DatabaseRateLimiter rateLimiter = (DatabaseRateLimiter) this.rateLimiter;
+        // 정리 작업은 컨텍스트와 함께 시작한다.
+        assertThat(rateLimiter.isRunning()).isTrue();
+        long now = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+
+        assertThat(rateLimiter.tryAcquire("client:myApp", LIMIT, now)).isZero();
+        assertThat(rateLimiter.tryAcquire("client:myApp", LIMIT, now)).isZero();
+        assertThat(rateLimiter.tryAcquire("client:myApp", LIMIT, now)).isEqualTo(INTERVAL);
+        assertThat(rateLimiter.tryAcquire("client:myApp", LIMIT, now + INTERVAL)).isZero();
+        assertThat(this.rateLimitBucketRepository.findById("client:myApp").get().getTheoreticalArrival())
+                .isEqualTo(now + 3 * INTERVAL);
+
+        assertThat(rateLimiter.tryAcquire("client:myApp", LIMIT, now + INTERVAL)).isEqualTo(INTERVAL);
+
+        // 돌려준 토큰은 다시 쓸 수 있다.
+        rateLimiter.release("client:myApp", LIMIT);
+        assertThat(rateLimiter.tryAcquire("client:myApp", LIMIT, now + INTERVAL)).isZero();
+
+        // 가득 찬 버킷만 지운다. (cleanup 은 지금 시각으로 판단하므로 비교할 버킷은 멀리 둔다)
+        this.rateLimitBucketRepository.save(new RateLimitBucket("client:idle", now - INTERVAL));
+        this.rateLimitBucketRepository.save(new RateLimitBucket("client:busy", now + TimeUnit.HOURS.toNanos(1)));
+        rateLimiter.cleanup();
+        assertThat(this.rateLimitBucketRepository.existsById("client:idle")).isFalse();
+        assertThat(this.rateLimitBucketRepository.existsById("client:busy")).isTrue();
+    }
+
+}
@@ -0,0 +1,53 @@
+package dev.artiveloper.restapiexample.common;
+
+import dev.artiveloper.restapiexample.events.Event;
+import dev.artiveloper.restapiexample.events.EventStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 테스트에서 쓰는 이벤트. 저장하지 않은 인스턴스를 돌려주므로 필요하면 값을 바꾼 뒤 저장한다.
+ */
+public final class EventFixtures {
+
+    private EventFixtures() {
+    }
+
+    public static Event event(int index) {
+        return Event.builder()
+                .name("event " + index)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .free(false)
+                .offline(true)
+                .eventStatus(EventStatus.DTAFT)
+                .build();
+    }
+
+    // closeEnrollmentDateTime 이틀 전부터 신청을 받고, 마감 다음 날 시작하는 이벤트
+    public static Event enrollableEvent(int limitOfEnrollment, EventStatus eventStatus, LocalDateTime closeEnrollmentDateTime) {
+        return Event.builder()
+                .name("hot event")
+                .description("test event")
+                .beginEnrollmentDateTime(closeEnrollmentDateTime.minusDays(2))
+                .closeEnrollmentDateTime(closeEnrollmentDateTime)
+                .beginEventDateTime(closeEnrollmentDateTime.plusDays(1))
+                .endEventDateTime(closeEnrollmentDateTime.plusDays(2))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(limitOfEnrollment)
+                .location("강남역 D2 스타텁 팩토리")
+                .free(false)
+                .offline(true)
+                .eventStatus(eventStatus)
+                .build();
+    }
+
+}
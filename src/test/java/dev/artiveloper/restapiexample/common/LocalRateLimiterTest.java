@@ -0,0 +1,86 @@
+package dev.artiveloper.restapiexample.common;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocalRateLimiterTest {
+
+    private static final RateLimit LIMIT = RateLimit.of(10, Duration.ofSeconds(1), 5);
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    public void burst_만큼_허용하고_간격마다_하나씩_채운다() {
+        LocalRateLimiter rateLimiter = new LocalRateLimiter(100, Duration.ofMinutes(1));
+        long now = 0;
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("client:myApp", LIMIT, now)).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire("client:myApp", LIMIT, now)).isEqualTo(INTERVAL);
+        // 다른 키는 따로 센다.
+        assertThat(rateLimiter.tryAcquire("client:other", LIMIT, now)).isZero();
+
+        assertThat(rateLimiter.tryAcquire("client:myApp", LIMIT, now + INTERVAL / 2)).isEqualTo(INTERVAL / 2);
+        assertThat(rateLimiter.tryAcquire("client:myApp", LIMIT, now + INTERVAL)).isZero();
+        assertThat(rateLimiter.tryAcquire("client:myApp", LIMIT, now + INTERVAL)).isPositive();
+
+        // 오래 쉬어도 burst 이상 쌓이지 않는다.
+        long later = now + TimeUnit.SECONDS.toNanos(60);
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("client:myApp", LIMIT, later)).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire("client:myApp", LIMIT, later)).isPositive();
+    }
+
+    @Test
+    public void 돌려준_토큰은_다시_쓸_수_있다() {
+        LocalRateLimiter rateLimiter = new LocalRateLimiter(100, Duration.ofMinutes(1));
+        long now = 0;
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("token:myApp", LIMIT, now)).isZero();
+        }
+        rateLimiter.release("token:myApp", LIMIT);
+        assertThat(rateLimiter.tryAcquire("token:myApp", LIMIT, now)).isZero();
+        assertThat(rateLimiter.tryAcquire("token:myApp", LIMIT, now)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    public void 동시에_요청해도_burst_보다_많이_허용하지_않는다() throws Exception {
+        LocalRateLimiter rateLimiter = new LocalRateLimiter(100, Duration.ofMinutes(1));
+        RateLimit limit = RateLimit.of(1, Duration.ofHours(1), 1000);
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 500; j++) {
+                    if (rateLimiter.tryAcquire("account:artiveloper@gmail.com", limit, 0) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(admitted.get()).isEqualTo(1000);
+    }
+
+}
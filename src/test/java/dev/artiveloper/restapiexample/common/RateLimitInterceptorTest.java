@@ -0,0 +1,115 @@
+package dev.artiveloper.restapiexample.common;
+
+import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.accounts.AccountRepository;
+import dev.artiveloper.restapiexample.accounts.AccountRole;
+import dev.artiveloper.restapiexample.accounts.AccountService;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 계정마다, 클라이언트 + IP 마다 한 시간에 2번
+@TestPropertySource(properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.account.permits=2",
+        "app.rate-limit.account.period=1h",
+        "app.rate-limit.account.burst=2",
+        "app.rate-limit.login.permits=2",
+        "app.rate-limit.login.period=1h",
+        "app.rate-limit.login.burst=2"
+})
+public class RateLimitInterceptorTest extends BaseControllerTest {
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @After
+    public void tearDown() {
+        Arrays.asList("limited-token@gmail.com", "limited-write@gmail.com").forEach(email ->
+                this.accountRepository.findByEmail(email).ifPresent(this.accountRepository::delete));
+    }
+
+    @Test
+    public void 토큰_발급_한도() throws Exception {
+        saveAccount("limited-token@gmail.com");
+
+        requestToken("limited-token@gmail.com", "10.0.0.1").andExpect(status().isOk());
+        requestToken("limited-token@gmail.com", "10.0.0.1").andExpect(status().isOk());
+        requestToken("limited-token@gmail.com", "10.0.0.1")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("error").value("temporarily_unavailable"));
+
+        // 다른 곳에서 같은 username 으로 두드려도 계정 주인은 막히지 않는다.
+        requestToken("limited-token@gmail.com", "10.0.0.2").andExpect(status().isOk());
+    }
+
+    @Test
+    public void 이벤트_쓰기_한도() throws Exception {
+        saveAccount("limited-write@gmail.com");
+        String response = requestToken("limited-write@gmail.com", "10.0.0.3")
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String bearerToken = "Bearer " + new Jackson2JsonParser().parseMap(response).get("access_token");
+
+        this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .accept(MediaTypes.HAL_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+        // 토큰 발급은 쓰기 한도를 쓰지 않는다.
+        this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .accept(MediaTypes.HAL_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+        this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .accept(MediaTypes.HAL_JSON)
+                .content("{}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    private void saveAccount(String email) {
+        this.accountService.save(Account.builder()
+                .email(email)
+                .password("password")
+                .roles(Collections.singleton(AccountRole.USER))
+                .build());
+    }
+
+    private ResultActions requestToken(String username, String remoteAddr) throws Exception {
+        return this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                })
+                .param("username", username)
+                .param("password", "password")
+                .param("grant_type", "password"));
+    }
+
+}
@@ -0,0 +1,110 @@
+package dev.artiveloper.restapiexample.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 스레드가 같은 키를 두드릴 때 잠금 없는 TokenBucket 과 synchronized 버킷 비교,
+ * 그리고 스레드마다 다른 키일 때 LocalRateLimiter(캐시 조회 포함) 비용.
+ * admitting 은 매번 허용해서 CAS 가 항상 일어나고, rejecting 은 이미 빈 버킷이라 읽기만 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    @Param({"admitting", "rejecting"})
+    public String mode;
+
+    private RateLimit limit;
+    private TokenBucket tokenBucket;
+    private SynchronizedBucket synchronizedBucket;
+    private LocalRateLimiter localRateLimiter;
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        this.limit = "admitting".equals(this.mode)
+                ? RateLimit.of(1_000_000_000, Duration.ofNanos(1), 1)
+                : RateLimit.of(1, Duration.ofHours(1), 1);
+        long now = System.nanoTime();
+        this.tokenBucket = new TokenBucket(now);
+        this.synchronizedBucket = new SynchronizedBucket(now);
+        this.localRateLimiter = new LocalRateLimiter(100_000, Duration.ofMinutes(1));
+        // 거절 모드에서는 처음부터 빈 버킷으로 시작한다.
+        this.tokenBucket.tryAcquire(this.limit, now);
+        this.synchronizedBucket.tryAcquire(this.limit, now);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadKey {
+
+        String key;
+
+        @Setup
+        public void setUp(RateLimiterBenchmark benchmark) {
+            this.key = "account:user-" + benchmark.threadIds.incrementAndGet() + "@gmail.com";
+        }
+
+    }
+
+    @Benchmark
+    public long lockFreeSharedKey() {
+        return this.tokenBucket.tryAcquire(this.limit, System.nanoTime());
+    }
+
+    @Benchmark
+    public long synchronizedSharedKey() {
+        return this.synchronizedBucket.tryAcquire(this.limit, System.nanoTime());
+    }
+
+    @Benchmark
+    public long localRateLimiterSharedKey() {
+        return this.localRateLimiter.tryAcquire("client:myApp", this.limit);
+    }
+
+    @Benchmark
+    public long localRateLimiterThreadKey(ThreadKey threadKey) {
+        return this.localRateLimiter.tryAcquire(threadKey.key, this.limit);
+    }
+
+    // 같은 GCRA 를 잠금으로 보호한 비교 대상
+    static class SynchronizedBucket {
+
+        private long theoreticalArrival;
+
+        SynchronizedBucket(long now) {
+            this.theoreticalArrival = now;
+        }
+
+        synchronized long tryAcquire(RateLimit limit, long now) {
+            long next = Math.max(this.theoreticalArrival, now) + limit.getIntervalNanos();
+            long wait = next - now - limit.getToleranceNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            this.theoreticalArrival = next;
+            return 0;
+        }
+
+    }
+
+}
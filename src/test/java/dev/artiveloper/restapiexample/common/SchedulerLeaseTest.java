@@ -0,0 +1,57 @@
+package dev.artiveloper.restapiexample.common;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class SchedulerLeaseTest {
+
+    private static final String NAME = "test-lease";
+    private static final Duration LEASE_TIME = Duration.ofSeconds(30);
+
+    @Autowired
+    SchedulerLease schedulerLease;
+
+    @Autowired
+    SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    AutowireCapableBeanFactory beanFactory;
+
+    @Before
+    public void setUp() {
+        this.schedulerLockRepository.deleteAll();
+    }
+
+    @Test
+    public void tryAcquire() {
+        SchedulerLease otherNode = this.beanFactory.createBean(SchedulerLease.class);
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        assertThat(this.schedulerLease.tryAcquire(NAME, now, LEASE_TIME)).isTrue();
+        assertThat(otherNode.tryAcquire(NAME, now, LEASE_TIME)).isFalse();
+
+        // 가진 쪽은 연장할 수 있다.
+        assertThat(this.schedulerLease.tryAcquire(NAME, now.plusSeconds(20), LEASE_TIME)).isTrue();
+        assertThat(otherNode.tryAcquire(NAME, now.plusSeconds(40), LEASE_TIME)).isFalse();
+
+        // 연장하지 않으면 만료 후 다른 노드가 가져간다.
+        assertThat(otherNode.tryAcquire(NAME, now.plusSeconds(51), LEASE_TIME)).isTrue();
+        assertThat(this.schedulerLease.tryAcquire(NAME, now.plusSeconds(52), LEASE_TIME)).isFalse();
+        assertThat(this.schedulerLockRepository.findById(NAME).get().getOwner()).isEqualTo(otherNode.getOwner());
+    }
+
+}
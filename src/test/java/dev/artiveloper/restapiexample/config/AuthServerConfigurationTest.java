@@ -1,15 +1,18 @@
 package dev.artiveloper.restapiexample.config;
 
 import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.accounts.AccountRepository;
 import dev.artiveloper.restapiexample.accounts.AccountRole;
 import dev.artiveloper.restapiexample.accounts.AccountService;
 import dev.artiveloper.restapiexample.common.BaseControllerTest;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.util.Arrays;
 import java.util.HashSet;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -21,6 +24,9 @@ public class AuthServerConfigurationTest extends BaseControllerTest {
     @Autowired
     AccountService accountService;
 
+    @Autowired
+    AccountRepository accountRepository;
+
     @Test
     public void 인증토큰_발급_테스트() throws Exception {
         String api = "/oauth/token";
@@ -47,4 +53,29 @@ public class AuthServerConfigurationTest extends BaseControllerTest {
                 .andExpect(jsonPath("access_token").exists());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void 로그인_성공시_낮은_cost_해시_업그레이드() throws Exception {
+        String username = "upgrade@gmail.com";
+        String password = "password";
+
+        Account account = Account.builder()
+                .email(username)
+                .password("{bcrypt}" + new BCryptPasswordEncoder(4).encode(password))
+                .roles(new HashSet<>(Arrays.asList(AccountRole.USER)))
+                .build();
+        this.accountRepository.save(account);
+
+        this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .param("username", username)
+                .param("password", password)
+                .param("grant_type", "password"))
+                .andExpect(status().isOk());
+
+        String upgraded = this.accountRepository.findByEmail(username).get().getPassword();
+        assertThat(upgraded).startsWith("{bcrypt}$2a$");
+        assertThat(upgraded).doesNotStartWith("{bcrypt}$2a$04$");
+        assertThat(new BCryptPasswordEncoder().matches(password, upgraded.substring("{bcrypt}".length()))).isTrue();
+    }
+
+}
@@ -0,0 +1,70 @@
+package dev.artiveloper.restapiexample.config;
+
+import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.accounts.AccountRepository;
+import dev.artiveloper.restapiexample.accounts.AccountRole;
+import dev.artiveloper.restapiexample.accounts.AccountService;
+import dev.artiveloper.restapiexample.common.BaseControllerTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.JdbcTokenStore;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "app.oauth.token-store=jdbc")
+public class JdbcTokenStoreTest extends BaseControllerTest {
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TokenStore tokenStore;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() {
+        this.accountRepository.deleteAll();
+    }
+
+    @Test
+    public void 토큰_발급시_DB에_저장() throws Exception {
+        assertThat(this.tokenStore).isInstanceOf(JdbcTokenStore.class);
+
+        String username = "artiveloper@gmail.com";
+        String password = "password";
+        this.accountService.save(Account.builder()
+                .email(username)
+                .password(password)
+                .roles(new HashSet<>(Arrays.asList(AccountRole.ADMIN, AccountRole.USER)))
+                .build());
+
+        this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .param("username", username)
+                .param("password", password)
+                .param("grant_type", "password"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("access_token").exists());
+
+        Integer count = this.jdbcTemplate.queryForObject(
+                "select count(*) from oauth_access_token where user_name = ?", Integer.class, username);
+        assertThat(count).isEqualTo(1);
+    }
+
+}
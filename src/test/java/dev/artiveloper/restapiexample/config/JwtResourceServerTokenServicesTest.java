@@ -0,0 +1,122 @@
+package dev.artiveloper.restapiexample.config;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.jwt.crypto.sign.RsaVerifier;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class JwtResourceServerTokenServicesTest {
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    private JwtAccessTokenConverter issuer;
+    private JwtResourceServerTokenServices tokenServices;
+
+    @Before
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        this.issuer = new JwtAccessTokenConverter();
+        this.issuer.setKeyPair(keyPair);
+        this.tokenServices = new JwtResourceServerTokenServices(new RsaVerifier((RSAPublicKey) keyPair.getPublic()));
+    }
+
+    @Test
+    public void RSA_서명_검증() {
+        String token = issue(new Date(System.currentTimeMillis() + 60_000));
+
+        OAuth2Authentication authentication = this.tokenServices.loadAuthentication(token);
+
+        assertThat(authentication.getName()).isEqualTo("artiveloper@gmail.com");
+        assertThat(authentication.getOAuth2Request().getClientId()).isEqualTo("myApp");
+        assertThat(authentication.getOAuth2Request().getScope()).containsExactlyInAnyOrder("read", "write");
+    }
+
+    @Test
+    public void 변조된_토큰() {
+        String token = issue(new Date(System.currentTimeMillis() + 60_000));
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1] + "x." + parts[2];
+
+        expectedException.expect(InvalidTokenException.class);
+        this.tokenServices.loadAuthentication(tampered);
+    }
+
+    @Test
+    public void 만료된_토큰() {
+        String token = issue(new Date(System.currentTimeMillis() - 60_000));
+
+        expectedException.expect(InvalidTokenException.class);
+        expectedException.expectMessage("expired");
+        this.tokenServices.loadAuthentication(token);
+    }
+
+    @Test
+    public void key_uri_에서_RSA_공개키를_받는다() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        String publicKey = this.issuer.getKey().get("value");
+        server.expect(requestTo("http://auth-server/oauth/token_key"))
+                .andRespond(withSuccess("{\"alg\":\"SHA256withRSA\",\"value\":\"" + publicKey.replace("\n", "\\n") + "\"}",
+                        MediaType.APPLICATION_JSON));
+
+        assertThat(TokenStoreConfiguration.Jwt.fetchVerifierKey(restTemplate, "http://auth-server/oauth/token_key"))
+                .isEqualTo(publicKey);
+    }
+
+    @Test
+    public void HMAC_인가_서버에는_key_uri_를_쓸_수_없다() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("http://auth-server/oauth/token_key"))
+                .andRespond(withStatus(HttpStatus.FORBIDDEN));
+
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("RSA");
+        TokenStoreConfiguration.Jwt.fetchVerifierKey(restTemplate, "http://auth-server/oauth/token_key");
+    }
+
+    private String issue(Date expiration) {
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_USER");
+        OAuth2Request request = new OAuth2Request(Collections.emptyMap(), "myApp", authorities, true,
+                new HashSet<>(Arrays.asList("read", "write")), Collections.emptySet(), null, null, null);
+        OAuth2Authentication authentication = new OAuth2Authentication(request,
+                new UsernamePasswordAuthenticationToken("artiveloper@gmail.com", null, authorities));
+
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken("token");
+        accessToken.setExpiration(expiration);
+        accessToken.setScope(request.getScope());
+        return this.issuer.enhance(accessToken, authentication).getValue();
+    }
+
+}
@@ -0,0 +1,93 @@
+package dev.artiveloper.restapiexample.config;
+
+import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.accounts.AccountRepository;
+import dev.artiveloper.restapiexample.accounts.AccountRole;
+import dev.artiveloper.restapiexample.accounts.AccountService;
+import dev.artiveloper.restapiexample.common.BaseControllerTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "app.oauth.token-store=jwt",
+        "app.oauth.jwt.signing-key=jwt-token-store-test-signing-key"
+})
+public class JwtTokenStoreTest extends BaseControllerTest {
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TokenStore tokenStore;
+
+    @Before
+    public void setUp() {
+        this.accountRepository.deleteAll();
+    }
+
+    @Test
+    public void JWT_토큰_발급_및_인증() throws Exception {
+        assertThat(this.tokenStore).isInstanceOf(JwtTokenStore.class);
+
+        String username = "artiveloper@gmail.com";
+        String password = "password";
+        this.accountService.save(Account.builder()
+                .email(username)
+                .password(password)
+                .roles(new HashSet<>(Arrays.asList(AccountRole.ADMIN, AccountRole.USER)))
+                .build());
+
+        String response = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .param("username", username)
+                .param("password", password)
+                .param("grant_type", "password"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String accessToken = new Jackson2JsonParser().parseMap(response).get("access_token").toString();
+        assertThat(accessToken.split("\\.")).hasSize(3);
+
+        // 인증은 통과하고 입력값 검증에서 실패해야 한다.
+        this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void HMAC_키는_token_key_로_내주지_않는다() throws Exception {
+        this.mockMvc.perform(get("/oauth/token_key")
+                .with(httpBasic("myApp", "pass")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void 서명키가_없으면_시작하지_않는다() {
+        assertThatThrownBy(() -> new TokenStoreConfiguration.Jwt().accessTokenConverter(" ", ""))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.oauth.jwt.signing-key");
+    }
+
+}
@@ -0,0 +1,118 @@
+package dev.artiveloper.restapiexample.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.jwt.crypto.sign.MacSigner;
+import org.springframework.security.jwt.crypto.sign.RsaVerifier;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리소스 서버가 요청마다 Bearer 토큰을 인증하는 비용. (ResourceServerTokenServices.loadAuthentication)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String HMAC_KEY = "rest-api-example-jwt-signing-key";
+
+    private DefaultTokenServices inMemoryTokenServices;
+    private String inMemoryToken;
+
+    private DefaultTokenServices jwtTokenStoreServices;
+    private JwtResourceServerTokenServices hmacTokenServices;
+    private String hmacToken;
+
+    private JwtResourceServerTokenServices rsaTokenServices;
+    private String rsaToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        OAuth2Authentication authentication = authentication();
+
+        this.inMemoryTokenServices = new DefaultTokenServices();
+        this.inMemoryTokenServices.setTokenStore(new InMemoryTokenStore());
+        this.inMemoryToken = this.inMemoryTokenServices.createAccessToken(authentication).getValue();
+
+        JwtAccessTokenConverter hmacConverter = new JwtAccessTokenConverter();
+        hmacConverter.setSigningKey(HMAC_KEY);
+        hmacConverter.afterPropertiesSet();
+        this.hmacToken = issue(hmacConverter, authentication);
+        this.jwtTokenStoreServices = new DefaultTokenServices();
+        this.jwtTokenStoreServices.setTokenStore(new JwtTokenStore(hmacConverter));
+        this.hmacTokenServices = new JwtResourceServerTokenServices(new MacSigner(HMAC_KEY));
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        JwtAccessTokenConverter rsaConverter = new JwtAccessTokenConverter();
+        rsaConverter.setKeyPair(keyPair);
+        this.rsaToken = issue(rsaConverter, authentication);
+        this.rsaTokenServices = new JwtResourceServerTokenServices(new RsaVerifier((RSAPublicKey) keyPair.getPublic()));
+    }
+
+    @Benchmark
+    public OAuth2Authentication inMemoryTokenStore() {
+        return this.inMemoryTokenServices.loadAuthentication(this.inMemoryToken);
+    }
+
+    @Benchmark
+    public OAuth2Authentication jwtTokenStoreHmac() {
+        return this.jwtTokenStoreServices.loadAuthentication(this.hmacToken);
+    }
+
+    @Benchmark
+    public OAuth2Authentication statelessHmac() {
+        return this.hmacTokenServices.loadAuthentication(this.hmacToken);
+    }
+
+    @Benchmark
+    public OAuth2Authentication statelessRsa() {
+        return this.rsaTokenServices.loadAuthentication(this.rsaToken);
+    }
+
+    private static String issue(JwtAccessTokenConverter converter, OAuth2Authentication authentication) {
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken("token");
+        accessToken.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)));
+        return converter.enhance(accessToken, authentication).getValue();
+    }
+
+    private static OAuth2Authentication authentication() {
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER");
+        OAuth2Request request = new OAuth2Request(Collections.emptyMap(), "myApp", authorities, true,
+                new HashSet<>(Arrays.asList("read", "write")), Collections.emptySet(), null, null, null);
+        return new OAuth2Authentication(request,
+                new UsernamePasswordAuthenticationToken("artiveloper@gmail.com", null, authorities));
+    }
+
+}
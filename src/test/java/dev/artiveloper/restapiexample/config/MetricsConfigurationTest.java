@@ -0,0 +1,83 @@
+package dev.artiveloper.restapiexample.config;
+
+import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.accounts.AccountRepository;
+import dev.artiveloper.restapiexample.accounts.AccountRole;
+import dev.artiveloper.restapiexample.accounts.AccountService;
+import dev.artiveloper.restapiexample.common.BaseControllerTest;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class MetricsConfigurationTest extends BaseControllerTest {
+
+    private static final String USERNAME = "metrics@gmail.com";
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @After
+    public void tearDown() {
+        this.accountRepository.findByEmail(USERNAME).ifPresent(this.accountRepository::delete);
+    }
+
+    @Test
+    public void 프로메테우스_스크랩() throws Exception {
+        this.accountService.save(Account.builder()
+                .email(USERNAME)
+                .password("password")
+                .roles(Collections.singleton(AccountRole.USER))
+                .build());
+
+        this.mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk());
+        String response = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .param("username", USERNAME)
+                .param("password", "password")
+                .param("grant_type", "password"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String bearerToken = "Bearer " + new Jackson2JsonParser().parseMap(response).get("access_token");
+        // 모르는 grant_type 은 태그 값으로 쓰지 않는다.
+        this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .param("grant_type", "made-up-grant-type"));
+
+        // 관리 포트를 따로 열지 않았으면 API 포트에서는 토큰이 있어야 스크랩할 수 있다.
+        this.mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        this.mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        String scrape = this.mockMvc.perform(get("/actuator/prometheus")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape).contains("http_server_requests_seconds_bucket{");
+        assertThat(scrape).containsPattern("http_server_requests_seconds_count\\{[^}]*uri=\"/api/events\"");
+        assertThat(scrape).containsPattern("repository_invocations_seconds_count\\{[^}]*repository=\"EventRepositoy\"");
+        assertThat(scrape).containsPattern("repository_statements_count\\{[^}]*repository=\"AccountRepository\"");
+        assertThat(scrape).contains("hikaricp_connections_active");
+        assertThat(scrape).contains("hibernate_statements");
+        assertThat(scrape).containsPattern("oauth_token_issue_seconds_count\\{[^}]*grant_type=\"password\"[^}]*outcome=\"success\"");
+        assertThat(scrape).doesNotContain("made-up-grant-type");
+        assertThat(scrape).containsPattern("oauth_token_issue_seconds_count\\{[^}]*grant_type=\"other\"");
+        assertThat(scrape).contains("oauth_tokens ");
+        assertThat(scrape).containsPattern("password_hashing_seconds_count\\{[^}]*operation=\"matches\"");
+    }
+
+}
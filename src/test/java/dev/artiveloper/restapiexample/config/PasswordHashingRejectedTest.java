@@ -0,0 +1,86 @@
+package dev.artiveloper.restapiexample.config;
+
+import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.accounts.AccountRepository;
+import dev.artiveloper.restapiexample.accounts.AccountRole;
+import dev.artiveloper.restapiexample.accounts.PasswordHashingRejectedException;
+import dev.artiveloper.restapiexample.accounts.PooledPasswordEncoder;
+import dev.artiveloper.restapiexample.common.BaseControllerTest;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 해싱 풀이 거절하면 /oauth/token 은 어느 단계에서든 503 이다.
+public class PasswordHashingRejectedTest extends BaseControllerTest {
+
+    private static final String USERNAME = "hashing-rejected@gmail.com";
+
+    @SpyBean
+    PooledPasswordEncoder passwordEncoder;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @After
+    public void tearDown() {
+        this.accountRepository.findByEmail(USERNAME).ifPresent(this.accountRepository::delete);
+    }
+
+    // 클라이언트 시크릿을 확인할 때 (BasicAuthenticationFilter)
+    @Test
+    public void 클라이언트_인증중_거절() throws Exception {
+        saveAccount();
+        doThrow(rejected()).when(this.passwordEncoder).matches(any(), anyString());
+
+        requestToken()
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("error").value("temporarily_unavailable"));
+    }
+
+    // 클라이언트는 통과하고 계정 비밀번호를 확인할 때 (password 그랜트)
+    @Test
+    public void 그랜트중_거절() throws Exception {
+        saveAccount();
+        doCallRealMethod().doThrow(rejected()).when(this.passwordEncoder).matches(any(), anyString());
+
+        requestToken()
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("error").value("temporarily_unavailable"));
+    }
+
+    private static PasswordHashingRejectedException rejected() {
+        return new PasswordHashingRejectedException("Password hashing queue is full", new RejectedExecutionException());
+    }
+
+    private void saveAccount() {
+        this.accountRepository.save(Account.builder()
+                .email(USERNAME)
+                .password("{noop}password")
+                .roles(new HashSet<>(Collections.singletonList(AccountRole.USER)))
+                .build());
+    }
+
+    private ResultActions requestToken() throws Exception {
+        return this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .param("username", USERNAME)
+                .param("password", "password")
+                .param("grant_type", "password"));
+    }
+
+}
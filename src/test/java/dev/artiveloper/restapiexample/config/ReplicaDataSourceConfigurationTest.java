@@ -0,0 +1,41 @@
+package dev.artiveloper.restapiexample.config;
+
+import dev.artiveloper.restapiexample.common.BaseControllerTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 레플리카 주소로 프라이머리와 같은 인메모리 DB 를 써서 설정이 뜨는지만 확인한다.
+@TestPropertySource(properties = {
+        "app.datasource.replica.urls=jdbc:h2:mem:testdb;DB_CLOSE_ON_EXIT=FALSE",
+        "app.datasource.replica.lag-query=SELECT 0"
+})
+public class ReplicaDataSourceConfigurationTest extends BaseControllerTest {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    public void 읽기_요청은_라우팅_데이터소스를_거친다() throws Exception {
+        assertThat(this.dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+        assertThat(((LazyConnectionDataSourceProxy) this.dataSource).getTargetDataSource())
+                .isInstanceOf(ReplicaRoutingDataSource.class);
+
+        this.mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk());
+
+        assertThat(this.meterRegistry.find("hikaricp.connections").tag("pool", "replica-0").gauge()).isNotNull();
+    }
+
+}
@@ -0,0 +1,110 @@
+package dev.artiveloper.restapiexample.config;
+
+import dev.artiveloper.restapiexample.common.PrimaryReads;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @Before
+    public void setUp() {
+        this.primary = database();
+        this.replica = database();
+        new JdbcTemplate(this.primary).update("INSERT INTO node VALUES ('primary')");
+        new JdbcTemplate(this.replica).update("INSERT INTO node VALUES ('replica')");
+        new JdbcTemplate(this.replica).update("INSERT INTO replica_status VALUES (0)");
+
+        this.routingDataSource = new ReplicaRoutingDataSource(this.primary, Collections.singletonList(this.replica),
+                "SELECT lag_seconds FROM replica_status", Duration.ofSeconds(5));
+        this.routingDataSource.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(this.routingDataSource);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @After
+    public void tearDown() {
+        this.primary.shutdown();
+        this.replica.shutdown();
+    }
+
+    @Test
+    public void readOnlyGoesToReplica() {
+        assertThat(readOnlyNode()).isEqualTo("replica");
+        assertThat(readWriteNode()).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    public void laggingReplicaFallsBackToPrimary() {
+        new JdbcTemplate(this.replica).update("UPDATE replica_status SET lag_seconds = 30");
+        this.routingDataSource.checkReplicas();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        new JdbcTemplate(this.replica).update("UPDATE replica_status SET lag_seconds = 1");
+        this.routingDataSource.checkReplicas();
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    public void unreachableReplicaFallsBackToPrimary() {
+        new JdbcTemplate(this.replica).execute("DROP TABLE replica_status");
+        this.routingDataSource.checkReplicas();
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+    }
+
+    // 캐시에 넣을 값은 읽기 전용 트랜잭션이라도 프라이머리에서 읽는다.
+    @Test
+    public void primaryReadsGoToPrimary() {
+        assertThat(PrimaryReads.read(this::readOnlyNode)).isEqualTo("primary");
+        String node = this.readOnly.execute(status -> PrimaryReads.read(this::node));
+        assertThat(node).isEqualTo("primary");
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    private String readOnlyNode() {
+        return this.readOnly.execute(status -> node());
+    }
+
+    private String readWriteNode() {
+        return this.readWrite.execute(status -> node());
+    }
+
+    private String node() {
+        return this.jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private EmbeddedDatabase database() {
+        return new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("classpath:replica-routing-schema.sql")
+                .build();
+    }
+
+}
@@ -0,0 +1,201 @@
+package dev.artiveloper.restapiexample.config;
+
+import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.accounts.AccountRepository;
+import dev.artiveloper.restapiexample.accounts.AccountRole;
+import dev.artiveloper.restapiexample.accounts.AccountService;
+import dev.artiveloper.restapiexample.common.BaseControllerTest;
+import dev.artiveloper.restapiexample.events.Event;
+import dev.artiveloper.restapiexample.events.EventDto;
+import dev.artiveloper.restapiexample.events.EventRepositoy;
+import dev.artiveloper.restapiexample.events.EventStatus;
+import org.h2.api.Trigger;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 프라이머리와 다른 인메모리 DB 를 레플리카로 쓴다. 레플리카는 프라이머리를 복사한 뒤 쓰기를 거절하는 트리거를 건다. (핫 스탠바이처럼)
+// 복사하기 전에는 지연 검사가 실패해서 모든 요청이 프라이머리로 간다.
+@TestPropertySource(properties = {
+        "app.datasource.replica.urls=" + ReplicaRoutingWriteTest.REPLICA_URL,
+        "app.datasource.replica.lag-query=SELECT CASE WHEN EXISTS(SELECT 1 FROM INFORMATION_SCHEMA.TABLES "
+                + "WHERE TABLE_NAME = 'EVENT') THEN 0 ELSE 3600 END",
+        "app.datasource.replica.check-interval=1h"
+})
+public class ReplicaRoutingWriteTest extends BaseControllerTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1";
+    private static final String PRIMARY_URL = "jdbc:h2:mem:testdb;DB_CLOSE_ON_EXIT=FALSE";
+    private static final String USERNAME = "replica@gmail.com";
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    EventRepositoy eventRepositoy;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    private Event event;
+
+    @After
+    public void tearDown() throws SQLException {
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        ((ReplicaRoutingDataSource) ((LazyConnectionDataSourceProxy) this.dataSource).getTargetDataSource()).checkReplicas();
+        if (this.event != null) {
+            this.eventRepositoy.deleteById(this.event.getId());
+        }
+        this.accountRepository.findByEmail(USERNAME).ifPresent(this.accountRepository::delete);
+    }
+
+    @Test
+    public void 읽은_뒤_쓰는_요청의_쓰기는_프라이머리로_간다() throws Exception {
+        this.accountService.save(Account.builder()
+                .email(USERNAME)
+                .password("password")
+                .roles(Collections.singleton(AccountRole.USER))
+                .build());
+        this.event = this.eventRepositoy.save(Event.builder()
+                .name("replica event")
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .eventStatus(EventStatus.DTAFT)
+                .build());
+        copyPrimaryToReadOnlyReplica();
+
+        String response = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .param("username", USERNAME)
+                .param("password", "password")
+                .param("grant_type", "password"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String bearerToken = "Bearer " + new Jackson2JsonParser().parseMap(response).get("access_token");
+
+        EventDto eventDto = this.modelMapper.map(this.event, EventDto.class);
+        eventDto.setName("updated on primary");
+
+        // findById 는 레플리카에서 읽고 save 는 프라이머리에 쓴다.
+        this.mockMvc.perform(put("/api/events/{id}", this.event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .accept(MediaTypes.HAL_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("updated on primary"));
+
+        assertThat(eventName(PRIMARY_URL)).isEqualTo("updated on primary");
+        assertThat(eventName(REPLICA_URL)).isEqualTo("replica event");
+
+        // 수정하면서 지운 캐시를 지연된 레플리카의 옛 행으로 다시 채우지 않는다.
+        this.mockMvc.perform(get("/api/events/{id}", this.event.getId())
+                .accept(MediaTypes.HAL_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("updated on primary"));
+    }
+
+    private void copyPrimaryToReadOnlyReplica() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet resultSet = statement.executeQuery("SCRIPT")) {
+            while (resultSet.next()) {
+                script.add(resultSet.getString(1));
+            }
+        }
+
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+            List<String> tables = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC'")) {
+                while (resultSet.next()) {
+                    tables.add(resultSet.getString(1));
+                }
+            }
+            for (String table : tables) {
+                statement.execute("CREATE TRIGGER READ_ONLY_" + table + " BEFORE INSERT, UPDATE, DELETE ON " + table
+                        + " FOR EACH ROW CALL \"" + ReadOnly.class.getName() + "\"");
+            }
+        }
+
+        ((ReplicaRoutingDataSource) ((LazyConnectionDataSourceProxy) this.dataSource).getTargetDataSource()).checkReplicas();
+    }
+
+    private String eventName(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             PreparedStatement statement = connection.prepareStatement("SELECT NAME FROM EVENT WHERE ID = ?")) {
+            statement.setInt(1, this.event.getId());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertThat(resultSet.next()).isTrue();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    public static class ReadOnly implements Trigger {
+
+        @Override
+        public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                         boolean before, int type) {
+        }
+
+        @Override
+        public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+            throw new SQLException("cannot execute statement in a read-only transaction", "25006");
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void remove() {
+        }
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package dev.artiveloper.restapiexample.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증된 요청마다 일어나는 토큰 조회 비용 비교. (InMemoryTokenStore vs JwtTokenStore)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenStoreBenchmark {
+
+    private InMemoryTokenStore inMemoryTokenStore;
+    private String inMemoryTokenValue;
+
+    private JwtTokenStore jwtTokenStore;
+    private String jwtTokenValue;
+
+    @Setup
+    public void setUp() throws Exception {
+        OAuth2Authentication authentication = authentication();
+
+        this.inMemoryTokenStore = new InMemoryTokenStore();
+        for (int i = 0; i < 10_000; i++) {
+            this.inMemoryTokenStore.storeAccessToken(accessToken(), authentication);
+        }
+        OAuth2AccessToken inMemoryToken = accessToken();
+        this.inMemoryTokenStore.storeAccessToken(inMemoryToken, authentication);
+        this.inMemoryTokenValue = inMemoryToken.getValue();
+
+        JwtAccessTokenConverter converter = new JwtAccessTokenConverter();
+        converter.setSigningKey("rest-api-example-jwt-signing-key");
+        converter.afterPropertiesSet();
+        this.jwtTokenStore = new JwtTokenStore(converter);
+        this.jwtTokenValue = converter.enhance(accessToken(), authentication).getValue();
+    }
+
+    @Benchmark
+    public OAuth2Authentication inMemoryReadAuthentication() {
+        return this.inMemoryTokenStore.readAuthentication(this.inMemoryTokenValue);
+    }
+
+    @Benchmark
+    public OAuth2Authentication jwtReadAuthentication() {
+        return this.jwtTokenStore.readAuthentication(this.jwtTokenValue);
+    }
+
+    private static DefaultOAuth2AccessToken accessToken() {
+        DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+        token.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10)));
+        token.setScope(new HashSet<>(Arrays.asList("read", "write")));
+        return token;
+    }
+
+    private static OAuth2Authentication authentication() {
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER");
+        OAuth2Request request = new OAuth2Request(Collections.emptyMap(), "myApp", authorities, true,
+                new HashSet<>(Arrays.asList("read", "write")), Collections.emptySet(), null, null, null);
+        User user = new User("artiveloper@gmail.com", "", authorities);
+        return new OAuth2Authentication(request, new UsernamePasswordAuthenticationToken(user, null, authorities));
+    }
+
+}
@@ -0,0 +1,162 @@
+package dev.artiveloper.restapiexample.enrollments;
+
+import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.accounts.AccountRepository;
+import dev.artiveloper.restapiexample.accounts.AccountRole;
+import dev.artiveloper.restapiexample.accounts.AccountService;
+import dev.artiveloper.restapiexample.common.BaseControllerTest;
+import dev.artiveloper.restapiexample.common.EventFixtures;
+import dev.artiveloper.restapiexample.events.Event;
+import dev.artiveloper.restapiexample.events.EventRepositoy;
+import dev.artiveloper.restapiexample.events.EventStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class EnrollmentControllerTest extends BaseControllerTest {
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EventRepositoy eventRepositoy;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    AccountService accountService;
+
+    @Before
+    public void setUp() {
+        this.enrollmentRepository.deleteAll();
+        this.eventRepositoy.deleteAll();
+        this.accountRepository.deleteAll();
+    }
+
+    // 다른 테스트가 이벤트와 계정을 지울 수 있게 신청 내역을 남기지 않는다.
+    @After
+    public void tearDown() {
+        this.enrollmentRepository.deleteAll();
+    }
+
+    @Test
+    public void enroll() throws Exception {
+        Event event = generateEvent(1);
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken("first@email.com"))
+                .accept(MediaTypes.HAL_JSON))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("id").exists())
+                .andExpect(jsonPath("account.id").exists())
+                .andExpect(jsonPath("enrolledDateTime").exists())
+                .andExpect(jsonPath("_links.event.href").value("http://localhost/api/events/" + event.getId()));
+
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isEqualTo(1);
+        assertThat(this.eventRepositoy.findById(event.getId()).get().getEnrolledCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void enroll_Conflict() throws Exception {
+        Event event = generateEvent(2);
+        String first = getBearerToken("first@email.com");
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, first))
+                .andExpect(status().isCreated());
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, first))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("content[0].code").value("alreadyEnrolled"))
+                .andExpect(jsonPath("_links.index.href").exists());
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken("second@email.com")))
+                .andExpect(status().isCreated());
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken("third@email.com")))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("content[0].code").value("soldOut"));
+
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isEqualTo(2);
+    }
+
+    // 초안 이벤트는 자리가 남아 있어도 신청할 수 없다.
+    @Test
+    public void enroll_Draft() throws Exception {
+        Event event = generateEvent(1, EventStatus.DTAFT, LocalDateTime.now().plusDays(1));
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken("first@email.com")))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("content[0].code").value("enrollmentNotOpen"));
+
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isZero();
+        assertThat(this.eventRepositoy.findById(event.getId()).get().getEnrolledCount()).isZero();
+    }
+
+    @Test
+    public void enroll_NotFound() throws Exception {
+        this.mockMvc.perform(post("/api/events/11883/enrollments")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken("first@email.com")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void enroll_Unauthorized() throws Exception {
+        Event event = generateEvent(1);
+
+        this.mockMvc.perform(post("/api/events/{id}/enrollments", event.getId()))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(this.enrollmentRepository.count()).isZero();
+    }
+
+    private String getBearerToken(String username) throws Exception {
+        String password = "password";
+        this.accountService.save(Account.builder()
+                .email(username)
+                .password(password)
+                .roles(new HashSet<>(Arrays.asList(AccountRole.USER)))
+                .build());
+
+        String response = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .param("username", username)
+                .param("password", password)
+                .param("grant_type", "password"))
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + new Jackson2JsonParser().parseMap(response).get("access_token");
+    }
+
+    private Event generateEvent(int limitOfEnrollment) {
+        return generateEvent(limitOfEnrollment, EventStatus.BEGAN_ENROLLMENT, LocalDateTime.now().plusDays(1));
+    }
+
+    private Event generateEvent(int limitOfEnrollment, EventStatus eventStatus, LocalDateTime closeEnrollmentDateTime) {
+        return this.eventRepositoy.save(EventFixtures.enrollableEvent(limitOfEnrollment, eventStatus, closeEnrollmentDateTime));
+    }
+
+}
@@ -0,0 +1,177 @@
+package dev.artiveloper.restapiexample.enrollments;
+
+import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.accounts.AccountRepository;
+import dev.artiveloper.restapiexample.common.EventFixtures;
+import dev.artiveloper.restapiexample.events.Event;
+import dev.artiveloper.restapiexample.events.EventRepositoy;
+import dev.artiveloper.restapiexample.events.EventStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EnrollmentServiceTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    EnrollmentService enrollmentService;
+
+    @Autowired
+    EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    EventRepositoy eventRepositoy;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Before
+    public void setUp() {
+        this.enrollmentRepository.deleteAll();
+        this.eventRepositoy.deleteAll();
+        this.accountRepository.deleteAll();
+    }
+
+    // 다른 테스트가 이벤트와 계정을 지울 수 있게 신청 내역을 남기지 않는다.
+    @After
+    public void tearDown() {
+        this.enrollmentRepository.deleteAll();
+    }
+
+    // 한 이벤트에 자리보다 훨씬 많은 신청이 동시에 몰려도 정확히 limitOfEnrollment 건만 등록된다.
+    @Test
+    public void enroll_HotEvent_NeverOversells() throws Exception {
+        int limitOfEnrollment = 100;
+        int applicants = 2000;
+        Event event = generateEvent(limitOfEnrollment);
+        List<Integer> accountIds = generateAccounts(applicants);
+
+        Map<EnrollmentResult.Status, Long> counts = enrollConcurrently(event.getId(), accountIds);
+
+        assertThat(counts.get(EnrollmentResult.Status.ENROLLED)).isEqualTo(limitOfEnrollment);
+        assertThat(counts.get(EnrollmentResult.Status.SOLD_OUT)).isEqualTo(applicants - limitOfEnrollment);
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isEqualTo(limitOfEnrollment);
+        assertThat(this.eventRepositoy.findById(event.getId()).get().getEnrolledCount()).isEqualTo(limitOfEnrollment);
+    }
+
+    // 같은 계정의 중복 신청은 자리를 차지하지 않는다. 돌려받은 자리는 다른 계정이 쓴다.
+    @Test
+    public void enroll_Duplicates_ReleaseSeats() throws Exception {
+        int limitOfEnrollment = 50;
+        Event event = generateEvent(limitOfEnrollment);
+        List<Integer> accountIds = generateAccounts(limitOfEnrollment);
+        List<Integer> requests = new ArrayList<>(accountIds);
+        requests.addAll(accountIds);
+
+        Map<EnrollmentResult.Status, Long> counts = enrollConcurrently(event.getId(), requests);
+
+        assertThat(counts.get(EnrollmentResult.Status.ENROLLED)).isEqualTo(limitOfEnrollment);
+        assertThat(counts.get(EnrollmentResult.Status.ALREADY_ENROLLED)
+                + counts.get(EnrollmentResult.Status.SOLD_OUT)).isEqualTo(limitOfEnrollment);
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isEqualTo(limitOfEnrollment);
+        assertThat(this.eventRepositoy.findById(event.getId()).get().getEnrolledCount()).isEqualTo(limitOfEnrollment);
+    }
+
+    // 신청 마감이 지났으면 자리가 남아 있어도 등록하지 않고, 자리를 돌려놓는다.
+    @Test
+    public void enroll_EnrollmentClosed() {
+        Event event = generateEvent(1, EventStatus.BEGAN_ENROLLMENT, LocalDateTime.now().minusMinutes(1));
+        List<Integer> accountIds = generateAccounts(2);
+
+        assertThat(this.enrollmentService.enroll(event.getId(), accountIds.get(0)).getStatus())
+                .isEqualTo(EnrollmentResult.Status.NOT_OPEN);
+        assertThat(this.enrollmentService.enroll(event.getId(), accountIds.get(1)).getStatus())
+                .isEqualTo(EnrollmentResult.Status.NOT_OPEN);
+        assertThat(this.enrollmentRepository.countByEventId(event.getId())).isZero();
+        assertThat(this.eventRepositoy.findById(event.getId()).get().getEnrolledCount()).isZero();
+    }
+
+    @Test
+    public void enroll_EventNotFound() {
+        Integer accountId = generateAccounts(1).get(0);
+
+        assertThat(this.enrollmentService.enroll(11883, accountId).getStatus())
+                .isEqualTo(EnrollmentResult.Status.EVENT_NOT_FOUND);
+    }
+
+    // 남은 자리를 읽은 뒤 이벤트가 지워지면 외래 키 위반을 중복 신청이 아니라 EVENT_NOT_FOUND 로 돌려준다.
+    @Test
+    public void enroll_EventDeleted() {
+        Event event = generateEvent(2);
+        List<Integer> accountIds = generateAccounts(2);
+        assertThat(this.enrollmentService.enroll(event.getId(), accountIds.get(0)).getStatus())
+                .isEqualTo(EnrollmentResult.Status.ENROLLED);
+
+        this.enrollmentRepository.deleteAll();
+        this.eventRepositoy.deleteById(event.getId());
+
+        assertThat(this.enrollmentService.enroll(event.getId(), accountIds.get(1)).getStatus())
+                .isEqualTo(EnrollmentResult.Status.EVENT_NOT_FOUND);
+    }
+
+    private Map<EnrollmentResult.Status, Long> enrollConcurrently(Integer eventId, List<Integer> accountIds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<EnrollmentResult.Status>> futures = accountIds.stream()
+                    .map(accountId -> executor.submit(() -> {
+                        start.await();
+                        return this.enrollmentService.enroll(eventId, accountId).getStatus();
+                    }))
+                    .collect(Collectors.toList());
+            start.countDown();
+
+            Map<EnrollmentResult.Status, Long> counts = new EnumMap<>(EnrollmentResult.Status.class);
+            for (EnrollmentResult.Status status : EnrollmentResult.Status.values()) {
+                counts.put(status, 0L);
+            }
+            for (Future<EnrollmentResult.Status> future : futures) {
+                counts.merge(future.get(), 1L, Long::sum);
+            }
+            return counts;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Integer> generateAccounts(int count) {
+        List<Account> accounts = IntStream.range(0, count)
+                .mapToObj(i -> Account.builder().email("applicant" + i + "@email.com").password("password").build())
+                .collect(Collectors.toList());
+        return this.accountRepository.saveAll(accounts).stream()
+                .map(Account::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Event generateEvent(int limitOfEnrollment) {
+        return generateEvent(limitOfEnrollment, EventStatus.BEGAN_ENROLLMENT, LocalDateTime.now().plusDays(1));
+    }
+
+    private Event generateEvent(int limitOfEnrollment, EventStatus eventStatus, LocalDateTime closeEnrollmentDateTime) {
+        return this.eventRepositoy.save(EventFixtures.enrollableEvent(limitOfEnrollment, eventStatus, closeEnrollmentDateTime));
+    }
+
+}
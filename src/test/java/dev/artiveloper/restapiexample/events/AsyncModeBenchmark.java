@@ -0,0 +1,95 @@
+package dev.artiveloper.restapiexample.events;
+
+import dev.artiveloper.restapiexample.RestApiExampleApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서블릿 스레드보다 동시 요청이 많을 때 /api/events 목록 처리량 비교. (동기 vs app.async.enabled)
+ * 톰캣 스레드를 16 개로 줄이고 64 개 스레드가 동시에 요청한다. JDBC 동시 실행은 두 모드 모두 커넥션 풀(10)로 묶인다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class AsyncModeBenchmark {
+
+    @Param({"false", "true"})
+    public boolean async;
+
+    private ServletWebServerApplicationContext context;
+    private URL url;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(RestApiExampleApplication.class)
+                .profiles("test")
+                // 기본 속성(properties)은 application.yml 보다 우선순위가 낮으므로 인자로 넘긴다.
+                .run("--server.port=0",
+                        "--server.tomcat.max-threads=16",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--app.async.enabled=" + this.async);
+
+        EventRepositoy eventRepositoy = this.context.getBean(EventRepositoy.class);
+        for (int i = 0; i < 200; i++) {
+            eventRepositoy.save(Event.builder()
+                    .name("event " + i)
+                    .description("benchmark event")
+                    .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                    .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                    .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                    .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                    .basePrice(100)
+                    .maxPrice(200)
+                    .limitOfEnrollment(100)
+                    .eventStatus(EventStatus.PUBLISHED)
+                    .build());
+        }
+
+        int port = this.context.getWebServer().getPort();
+        this.url = new URL("http://localhost:" + port + "/api/events?size=20&sort=name,DESC");
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public int queryEvents() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) this.url.openConnection();
+        int status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            byte[] buffer = new byte[8192];
+            while (in != null && in.read(buffer) != -1) {
+                // 연결을 재사용할 수 있도록 본문을 끝까지 읽는다.
+            }
+        }
+        return status;
+    }
+
+}
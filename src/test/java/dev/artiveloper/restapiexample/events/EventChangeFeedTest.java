@@ -0,0 +1,187 @@
+package dev.artiveloper.restapiexample.events;
+
+import dev.artiveloper.restapiexample.common.BaseControllerTest;
+import dev.artiveloper.restapiexample.common.EventFixtures;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@TestPropertySource(properties = {
+        "app.events.feed.buffer-size=2",
+        "app.events.feed.sender-threads=1",
+        "app.events.feed.write-timeout=100ms",
+        "app.events.feed.replay-size=2",
+        "app.events.feed.replay-limit=3"
+})
+public class EventChangeFeedTest extends BaseControllerTest {
+
+    @Autowired
+    EventChangeFeed eventChangeFeed;
+
+    @Autowired
+    EventChangeRepository eventChangeRepository;
+
+    @Autowired
+    EventService eventService;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Before
+    public void setUp() {
+        while (this.eventChangeFeed.poll() > 0) {
+        }
+    }
+
+    @Test
+    public void changes() throws Exception {
+        MvcResult mvcResult = subscribe(null);
+
+        Event event = this.eventService.save(EventFixtures.event(1));
+        event.setName("updated");
+        event = this.eventService.save(event);
+
+        assertThat(this.eventChangeFeed.poll()).isEqualTo(2);
+        List<EventChange> changes = latestChanges(2);
+        String content = awaitContent(mvcResult, "id:" + changes.get(1).getPosition());
+        assertThat(content)
+                .contains("id:" + changes.get(0).getPosition() + "\nevent:CREATED\ndata:{")
+                .contains("id:" + changes.get(1).getPosition() + "\nevent:UPDATED\ndata:{")
+                .contains("\"eventId\":" + event.getId());
+        assertThat(mvcResult.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    // 최근 변경은 메모리에서, 그보다 오래된 변경은 아웃박스에서 이어받는다. 너무 밀렸으면 reset 을 받는다.
+    @Test
+    public void changes_LastEventId() throws Exception {
+        IntStream.rangeClosed(1, 5).forEach(i -> this.eventService.save(EventFixtures.event(i)));
+        assertThat(this.eventChangeFeed.poll()).isEqualTo(5);
+        List<EventChange> changes = latestChanges(5);
+
+        String fromRecent = awaitContent(subscribe(changes.get(2).getPosition()), "id:" + changes.get(4).getPosition());
+        assertThat(fromRecent)
+                .doesNotContain("id:" + changes.get(2).getPosition() + "\n")
+                .contains("id:" + changes.get(3).getPosition() + "\n");
+
+        String fromOutbox = awaitContent(subscribe(changes.get(1).getPosition()), "id:" + changes.get(4).getPosition());
+        assertThat(fromOutbox)
+                .doesNotContain("id:" + changes.get(1).getPosition() + "\n")
+                .contains("id:" + changes.get(2).getPosition() + "\n")
+                .contains("id:" + changes.get(3).getPosition() + "\n");
+
+        String reset = awaitContent(subscribe(changes.get(0).getPosition()), "event:reset");
+        assertThat(reset).doesNotContain("id:");
+    }
+
+    // 버퍼보다 많이 밀린 구독자는 끊는다.
+    @Test
+    public void changes_SlowSubscriberEvicted() throws Exception {
+        subscribe(null);
+        assertThat(this.eventChangeFeed.getSubscriberCount()).isPositive();
+
+        IntStream.rangeClosed(1, 3).forEach(i -> this.eventService.save(EventFixtures.event(i)));
+        assertThat(this.eventChangeFeed.poll()).isEqualTo(3);
+
+        assertThat(this.eventChangeFeed.getSubscriberCount()).isZero();
+    }
+
+    // 읽지 않는 구독자에게 쓰다가 sender 가 멈춰도 그 구독자만 끊고 다른 구독자에게는 계속 보낸다.
+    @Test
+    public void changes_StalledSubscriberEvicted() throws Exception {
+        ResponseBodyEmitter stalled = this.eventChangeFeed.subscribe(null);
+        MvcResult mvcResult = subscribe(null);
+        int subscriberCount = this.eventChangeFeed.getSubscriberCount();
+
+        // emitter 잠금을 쥐고 있으면 하나뿐인 sender 가 stalled 에 쓰다가 멈춘다.
+        synchronized (stalled) {
+            this.eventService.save(EventFixtures.event(1));
+            assertThat(this.eventChangeFeed.poll()).isEqualTo(1);
+            Thread.sleep(300);
+            this.eventService.save(EventFixtures.event(2));
+            assertThat(this.eventChangeFeed.poll()).isEqualTo(1);
+
+            this.eventChangeFeed.evictStalled();
+            assertThat(this.eventChangeFeed.getSubscriberCount()).isEqualTo(subscriberCount - 1);
+            awaitContent(mvcResult, "id:" + latestChanges(1).get(0).getPosition());
+        }
+    }
+
+    // 오래 걸린 트랜잭션이 늦게 커밋한 변경도 빠뜨리지 않고 뒤쪽 position 으로 보낸다.
+    @Test
+    public void changes_LateCommit() throws Exception {
+        MvcResult mvcResult = subscribe(null);
+        CountDownLatch saved = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Event> late = CompletableFuture.supplyAsync(() -> this.transactionTemplate.execute(status -> {
+            Event event = this.eventService.save(EventFixtures.event(1));
+            saved.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return event;
+        }));
+        saved.await();
+        Event early = this.eventService.save(EventFixtures.event(2));
+        assertThat(this.eventChangeFeed.poll()).isEqualTo(1);
+
+        commit.countDown();
+        Event lateEvent = late.get(5, TimeUnit.SECONDS);
+        assertThat(this.eventChangeFeed.poll()).isEqualTo(1);
+
+        List<EventChange> changes = latestChanges(2);
+        assertThat(changes.get(0).getEventId()).isEqualTo(early.getId());
+        assertThat(changes.get(1).getEventId()).isEqualTo(lateEvent.getId());
+        assertThat(changes.get(1).getId()).isLessThan(changes.get(0).getId());
+        assertThat(awaitContent(mvcResult, "id:" + changes.get(1).getPosition()))
+                .contains("\"eventId\":" + lateEvent.getId());
+    }
+
+    private MvcResult subscribe(Long lastEventId) throws Exception {
+        return this.mockMvc.perform(lastEventId == null
+                ? get("/api/events/changes").accept(MediaType.TEXT_EVENT_STREAM)
+                : get("/api/events/changes").accept(MediaType.TEXT_EVENT_STREAM).header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private String awaitContent(MvcResult mvcResult, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = mvcResult.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = mvcResult.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+
+    private List<EventChange> latestChanges(int count) {
+        List<EventChange> changes = new ArrayList<>(this.eventChangeRepository
+                .findAll(PageRequest.of(0, count, Sort.Direction.DESC, "position"))
+                .getContent());
+        Collections.reverse(changes);
+        return changes;
+    }
+
+}
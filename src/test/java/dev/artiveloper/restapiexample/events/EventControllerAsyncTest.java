@@ -0,0 +1,88 @@
+package dev.artiveloper.restapiexample.events;
+
+import dev.artiveloper.restapiexample.common.BaseControllerTest;
+import dev.artiveloper.restapiexample.common.EventFixtures;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.stream.IntStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = "app.async.enabled=true")
+public class EventControllerAsyncTest extends BaseControllerTest {
+
+    @Autowired
+    EventRepositoy eventRepositoy;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Before
+    public void setUp() {
+        this.eventRepositoy.deleteAll();
+        this.cacheManager.getCache(EventService.EVENTS_CACHE).clear();
+    }
+
+    @Test
+    public void getEvent() throws Exception {
+        Event event = generateEvent(100);
+
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String eTag = this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("event 100"))
+                .andExpect(jsonPath("_links.self").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvcResult = this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void getEvent_notFound() throws Exception {
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/11883"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void queryEvents() throws Exception {
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events?page=1&size=10&sort=name,DESC"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(30))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.next").exists());
+    }
+
+    private Event generateEvent(int index) {
+        return this.eventRepositoy.save(EventFixtures.event(index));
+    }
+
+}
@@ -1,29 +1,44 @@
 package dev.artiveloper.restapiexample.events;
 
+import com.jayway.jsonpath.JsonPath;
 import dev.artiveloper.restapiexample.accounts.Account;
 import dev.artiveloper.restapiexample.accounts.AccountRepository;
 import dev.artiveloper.restapiexample.accounts.AccountRole;
 import dev.artiveloper.restapiexample.accounts.AccountService;
 import dev.artiveloper.restapiexample.common.BaseControllerTest;
+import dev.artiveloper.restapiexample.common.EventFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.hamcrest.Matchers;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class EventControllerTest extends BaseControllerTest {
@@ -37,10 +52,20 @@ public class EventControllerTest extends BaseControllerTest {
     @Autowired
     AccountService accountService;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Before
     public void setUp() throws Exception {
         this.eventRepositoy.deleteAll();
         this.accountRepository.deleteAll();
+        this.cacheManager.getCache(EventService.EVENTS_CACHE).clear();
     }
 
     @Test
@@ -107,6 +132,61 @@ public class EventControllerTest extends BaseControllerTest {
         return new Jackson2JsonParser().parseMap(response).get("access_token").toString();
     }
 
+    @Test
+    public void createEvents() throws Exception {
+        String api = "/api/events/batch";
+
+        EventDto valid = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .build();
+        EventDto wrongPrice = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(10000)
+                .maxPrice(200)
+                .location("")
+                .build();
+        EventDto empty = new EventDto();
+        EventDto online = this.modelMapper.map(valid, EventDto.class);
+        online.setLocation(null);
+
+        mockMvc.perform(
+                post(api)
+                        .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(valid, wrongPrice, empty, valid, online, null))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventBatchResultList.length()").value(6))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[0].status").value("CREATED"))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[0].id").exists())
+                .andExpect(jsonPath("_embedded.eventBatchResultList[1].status").value("INVALID"))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[1].errors[0].field").value("basePrice"))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[2].status").value("INVALID"))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[3].index").value(3))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[3].status").value("CREATED"))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[4].status").value("CREATED"))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[5].status").value("INVALID"))
+                .andExpect(jsonPath("_embedded.eventBatchResultList[5].errors[0].code").value("required"))
+                .andExpect(jsonPath("_links.query-events").exists());
+
+        assertThat(this.eventRepositoy.count()).isEqualTo(3);
+    }
+
     @Test
     public void createEvent_BadRequest() throws Exception {
         String api = "/api/events";
@@ -180,28 +260,246 @@ public class EventControllerTest extends BaseControllerTest {
         )
                 .andDo(print())
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.HAL_JSON_UTF8))
                 .andExpect(jsonPath("page").exists())
                 .andExpect(jsonPath("_embedded.eventList[0]_links.self").exists());
     }
 
+    //상태, 가격, 시작일, 검색어로 거른 이벤트만 조회하기
+    @Test
+    public void queryEvents_filter() throws Exception {
+        IntStream.range(0, 30).forEach(i -> {
+            Event event = generateEvent(i);
+            if (i % 3 == 0) {
+                event.setEventStatus(EventStatus.PUBLISHED);
+                event.setBasePrice(0);
+                event.setMaxPrice(0);
+                event.setFree(true);
+            }
+            if (i >= 20) {
+                event.setBeginEventDateTime(LocalDateTime.of(2019, 1, 10, 10, 0));
+                event.setDescription("100% 실습");
+            }
+            this.eventRepositoy.save(event);
+        });
+
+        // 0, 3, 6, 9, 12, 15, 18, 21, 24, 27
+        this.mockMvc.perform(get("/api/events?eventStatus=PUBLISHED&free=true&size=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(10));
+
+        // 21, 24, 27
+        this.mockMvc.perform(get("/api/events?eventStatus=PUBLISHED&beginFrom=2019-01-01T00:00:00&size=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(3));
+
+        // 0 ~ 19 중 3의 배수가 아닌 13개
+        this.mockMvc.perform(get("/api/events?priceFrom=50&priceTo=150&beginTo=2019-01-01T00:00:00&q=EVENT&size=20&sort=id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(13));
+
+        // 'event 1', 'event 10' ~ 'event 19' (대소문자 구분 없음)
+        this.mockMvc.perform(get("/api/events?q=Event 1&size=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(11));
+
+        // % 는 와일드카드가 아니라 글자로 찾는다.
+        this.mockMvc.perform(get("/api/events?q=0%&size=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(10));
+
+        this.mockMvc.perform(get("/api/events?eventStatus=NOT_A_STATUS"))
+                .andExpect(status().isBadRequest());
+    }
+
+    //fields 로 고른 필드만 조회하기
+    @Test
+    public void queryEvents_fields() throws Exception {
+        Account manager = this.accountRepository.save(Account.builder()
+                .email("manager@gmail.com")
+                .password("password")
+                .roles(new HashSet<>(Arrays.asList(AccountRole.USER)))
+                .build());
+        IntStream.range(0, 5).forEach(i -> {
+            Event event = generateEvent(i);
+            if (i == 0) {
+                event.setManager(manager);
+                this.eventRepositoy.save(event);
+            }
+        });
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        String eTag = this.mockMvc.perform(get("/api/events?fields=name,beginEventDateTime,manager&size=3&sort=id"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaTypes.HAL_JSON_UTF8))
+                .andExpect(jsonPath("_embedded.eventList.length()").value(3))
+                .andExpect(jsonPath("_embedded.eventList[0].id").exists())
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 0"))
+                .andExpect(jsonPath("_embedded.eventList[0].beginEventDateTime").value("2018-11-25T14:21:00"))
+                .andExpect(jsonPath("_embedded.eventList[0].manager.id").value(manager.getId()))
+                .andExpect(jsonPath("_embedded.eventList[1].manager").value(Matchers.nullValue()))
+                .andExpect(jsonPath("_embedded.eventList[0].description").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("page.totalElements").value(5))
+                .andExpect(jsonPath("_links.next").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(0);
+
+        this.mockMvc.perform(get("/api/events?fields=name,beginEventDateTime,manager&size=3&sort=id")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        this.mockMvc.perform(get("/api/events?fields=name&q=event 4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(1));
+
+        this.mockMvc.perform(get("/api/events?fields=name,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("wrongValue"));
+    }
+
+    //이벤트 30개를 NDJSON 으로 내보내기
+    @Test
+    public void exportEvents() throws Exception {
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        MvcResult mvcResult = this.mockMvc.perform(get("/api/events/export")
+                .accept(EventExportService.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // API 요청의 제한 시간(app.async.timeout)을 따르지 않는다.
+        assertThat(mvcResult.getRequest().getAsyncContext().getTimeout()).isZero();
+        mvcResult.getAsyncResult(10_000);
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+
+        String[] lines = mvcResult.getResponse().getContentAsString().split("\n");
+        assertThat(mvcResult.getResponse().getContentType()).startsWith(EventExportService.APPLICATION_NDJSON_VALUE);
+        assertThat(lines).hasSize(30);
+        assertThat(JsonPath.<String>read(lines[0], "name")).isEqualTo("event 0");
+        assertThat(JsonPath.<String>read(lines[29], "name")).isEqualTo("event 29");
+    }
+
+    //이벤트 30개를 커서로 12개씩 끝까지 조회하기
+    @Test
+    public void queryEventsAfter() throws Exception {
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        String api = "/api/events?cursor=&size=12&sort=name,DESC&count=true";
+        MvcResult firstPage = this.mockMvc.perform(get(api))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(30))
+                .andExpect(jsonPath("_embedded.eventList.length()").value(12))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 9"))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.next").exists())
+                .andReturn();
+
+        String secondPageUri = JsonPath.read(firstPage.getResponse().getContentAsString(), "_links.next.href");
+        MvcResult secondPage = this.mockMvc.perform(get(secondPageUri))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(30))
+                .andExpect(jsonPath("_embedded.eventList.length()").value(12))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event 24"))
+                .andReturn();
+
+        String lastPageUri = JsonPath.read(secondPage.getResponse().getContentAsString(), "_links.next.href");
+        this.mockMvc.perform(get(lastPageUri.replace("count=true", "count=false")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(6))
+                .andExpect(jsonPath("_embedded.eventList[5].name").value("event 0"))
+                .andExpect(jsonPath("_links.next").doesNotExist());
+    }
+
+    //커서로 조회해도 검색 조건을 다음 페이지까지 적용하기
+    @Test
+    public void queryEventsAfter_filter() throws Exception {
+        IntStream.range(0, 30).forEach(i -> {
+            Event event = generateEvent(i);
+            if (i % 3 == 0) {
+                event.setEventStatus(EventStatus.PUBLISHED);
+                this.eventRepositoy.save(event);
+            }
+        });
+
+        // 0, 3, 6, 9, 12, 15, 18, 21, 24, 27
+        MvcResult firstPage = this.mockMvc.perform(get("/api/events?cursor=&size=6&sort=id&count=true&eventStatus=PUBLISHED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(10))
+                .andExpect(jsonPath("_embedded.eventList.length()").value(6))
+                .andExpect(jsonPath("_embedded.eventList[*].eventStatus").value(everyItem(is("PUBLISHED"))))
+                .andReturn();
+
+        String nextPageUri = JsonPath.read(firstPage.getResponse().getContentAsString(), "_links.next.href");
+        assertThat(nextPageUri).contains("eventStatus=PUBLISHED");
+        this.mockMvc.perform(get(nextPageUri))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(4))
+                .andExpect(jsonPath("_embedded.eventList[3].name").value("event 27"))
+                .andExpect(jsonPath("_links.next").doesNotExist());
+    }
+
+    @Test
+    public void queryEventsAfter_badRequest_fields() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                .param("cursor", "")
+                .param("fields", "name"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("unsupported"));
+    }
+
+    @Test
+    public void queryEventsAfter_badRequest_wrongCursor() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                .param("cursor", "not-a-cursor"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("content[0].code").value("wrongValue"))
+                .andExpect(jsonPath("_links.index").exists());
+    }
+
     private Event generateEvent(int index) {
-        Event event = Event.builder()
-                .name("event " + index)
-                .description("test event")
-                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
-                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
-                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
-                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
-                .basePrice(100)
-                .maxPrice(200)
-                .limitOfEnrollment(100)
-                .location("강남역 D2 스타텁 팩토리")
-                .free(false)
-                .offline(true)
-                .eventStatus(EventStatus.DTAFT)
-                .build();
+        return this.eventRepositoy.save(EventFixtures.event(index));
+    }
+
+    //매니저가 서로 다른 이벤트 목록을 조회해도 쿼리 수는 고정 (목록 + count)
+    @Test
+    public void queryEvents_fixedStatementCount() throws Exception {
+        IntStream.range(0, 20).forEach(i -> {
+            Account manager = this.accountRepository.save(Account.builder()
+                    .email("manager" + i + "@gmail.com")
+                    .password("password")
+                    .roles(new HashSet<>(Arrays.asList(AccountRole.USER)))
+                    .build());
+            Event event = generateEvent(i);
+            event.setManager(manager);
+            this.eventRepositoy.save(event);
+        });
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        this.mockMvc.perform(get("/api/events")
+                .param("page", "0")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].manager.id").exists())
+                .andExpect(jsonPath("_embedded.eventList[0].manager.password").doesNotExist());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
 
-        return this.eventRepositoy.save(event);
+        Event event = this.eventRepositoy.findAll().get(0);
+        statistics.clear();
+
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("manager.id").exists());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
     }
 
     @Test
@@ -217,6 +515,91 @@ public class EventControllerTest extends BaseControllerTest {
         //.andExpect(jsonPath("_links.profile").exists());
     }
 
+    //두번째 조회부터는 캐시에서 읽고, 수정하면 캐시에서 지운다
+    @Test
+    public void getEvent_cached() throws Exception {
+        Account manager = this.accountRepository.save(Account.builder()
+                .email("manager@gmail.com")
+                .password("password")
+                .roles(new HashSet<>(Arrays.asList(AccountRole.USER)))
+                .build());
+        Event event = generateEvent(100);
+        event.setManager(manager);
+        event = this.eventRepositoy.save(event);
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        double hits = this.meterRegistry.get("cache.gets")
+                .tag("cache", EventService.EVENTS_CACHE).tag("result", "hit")
+                .functionCounter().count();
+
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+        statistics.clear();
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("manager.id").value(manager.getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+        assertThat(this.meterRegistry.get("cache.gets")
+                .tag("cache", EventService.EVENTS_CACHE).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(hits + 1);
+
+        EventDto updatedEvent = this.modelMapper.map(event, EventDto.class);
+        updatedEvent.setName("업데이트된 이벤트");
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .accept(MediaTypes.HAL_JSON)
+                .content(objectMapper.writeValueAsString(updatedEvent)))
+                .andExpect(status().isOk());
+        assertThat(this.cacheManager.getCache(EventService.EVENTS_CACHE).get(event.getId())).isNull();
+
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("업데이트된 이벤트"));
+
+        // 다시 캐시된 값에는 계정 정보가 없다.
+        Event cachedEvent = this.cacheManager.getCache(EventService.EVENTS_CACHE).get(event.getId(), Event.class);
+        assertThat(cachedEvent).isNotNull();
+        assertThat(cachedEvent.getName()).isEqualTo("업데이트된 이벤트");
+        assertThat(Hibernate.isInitialized(cachedEvent.getManager())).isFalse();
+    }
+
+    @Test
+    public void getEvent_notModified() throws Exception {
+        Event event = this.generateEvent(100);
+
+        String eTag = this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"");
+
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void queryEvents_notModified() throws Exception {
+        IntStream.range(0, 5).forEach(this::generateEvent);
+
+        String eTag = this.mockMvc.perform(get("/api/events").param("size", "3"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        this.mockMvc.perform(get("/api/events").param("size", "3")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        generateEvent(5);
+        this.mockMvc.perform(get("/api/events").param("size", "3")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(eTag)));
+    }
+
     @Test
     public void getEvent_404() throws Exception {
         String api = "/api/events/12341234";
@@ -249,6 +632,45 @@ public class EventControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("_links.self").exists());
     }
 
+    @Test
+    public void updateEvent_ifMatch() throws Exception {
+        String api = "/api/events/{id}";
+        Event createdEvent = generateEvent(100);
+
+        String eTag = this.mockMvc.perform(get(api, createdEvent.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String bearerToken = getBearerToken();
+        EventDto updatedEvent = this.modelMapper.map(createdEvent, EventDto.class);
+        updatedEvent.setName("업데이트된 이벤트");
+
+        String updatedETag = this.mockMvc.perform(
+                put(api, createdEvent.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(objectMapper.writeValueAsString(updatedEvent)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(updatedETag).isNotEqualTo(eTag);
+
+        // 이미 바뀐 버전을 기준으로 한 수정은 거절한다.
+        updatedEvent.setName("늦게 도착한 수정");
+        this.mockMvc.perform(
+                put(api, createdEvent.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .accept(MediaTypes.HAL_JSON)
+                        .content(objectMapper.writeValueAsString(updatedEvent)))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, updatedETag));
+
+        assertThat(this.eventRepositoy.findById(createdEvent.getId()).get().getName()).isEqualTo("업데이트된 이벤트");
+    }
+
     @Test
     public void updateEvent_badRequest_emptyInputValue() throws Exception {
         String api = "/api/events/{id}";
@@ -0,0 +1,146 @@
+package dev.artiveloper.restapiexample.events;
+
+import dev.artiveloper.restapiexample.common.SchedulerLock;
+import dev.artiveloper.restapiexample.common.SchedulerLockRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "app.events.lifecycle.batch-size=2",
+        "app.events.lifecycle.max-queued=3"
+})
+public class EventLifecycleSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired
+    EventLifecycleScheduler eventLifecycleScheduler;
+
+    @Autowired
+    EventRepositoy eventRepositoy;
+
+    @Autowired
+    SchedulerLockRepository schedulerLockRepository;
+
+    @Before
+    public void setUp() {
+        this.eventRepositoy.deleteAll();
+        this.schedulerLockRepository.deleteAll();
+        this.eventLifecycleScheduler.reset();
+    }
+
+    // 큐 크기(3)와 배치 크기(2)보다 많은 전이도 한 tick 에 이어 읽어서 모두 적용한다.
+    @Test
+    public void tick_BeginsEnrollmentOfDueEvents() {
+        List<Event> due = IntStream.rangeClosed(1, 7)
+                .mapToObj(i -> generateEvent(EventStatus.PUBLISHED, NOW.minusMinutes(i)))
+                .collect(Collectors.toList());
+        Event soon = generateEvent(EventStatus.PUBLISHED, NOW.plusMinutes(5));
+        Event draft = generateEvent(EventStatus.DTAFT, NOW.minusMinutes(1));
+        Event later = generateEvent(EventStatus.PUBLISHED, NOW.plusDays(1));
+
+        assertThat(this.eventLifecycleScheduler.tick(NOW)).isEqualTo(7);
+        for (Event event : due) {
+            Event updated = this.eventRepositoy.findById(event.getId()).get();
+            assertThat(updated.getEventStatus()).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+            assertThat(updated.getVersion()).isEqualTo(event.getVersion() + 1);
+        }
+        assertThat(statusOf(soon)).isEqualTo(EventStatus.PUBLISHED);
+        assertThat(statusOf(draft)).isEqualTo(EventStatus.DTAFT);
+
+        assertThat(this.eventLifecycleScheduler.tick(NOW.plusMinutes(5))).isEqualTo(1);
+        assertThat(statusOf(soon)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+        assertThat(statusOf(later)).isEqualTo(EventStatus.PUBLISHED);
+
+        assertThat(this.eventLifecycleScheduler.tick(NOW.plusDays(1))).isEqualTo(1);
+        assertThat(statusOf(later)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+        assertThat(statusOf(draft)).isEqualTo(EventStatus.DTAFT);
+    }
+
+    // 큐에 올린 뒤 일정이 미뤄진 이벤트는 원래 시각에 옮기지 않는다.
+    @Test
+    public void tick_SkipsRescheduledEvents() {
+        Event event = generateEvent(EventStatus.PUBLISHED, NOW.plusMinutes(1));
+        assertThat(this.eventLifecycleScheduler.tick(NOW)).isZero();
+
+        event = this.eventRepositoy.findById(event.getId()).get();
+        event.setBeginEnrollmentDateTime(NOW.plusMinutes(30));
+        this.eventRepositoy.save(event);
+
+        assertThat(this.eventLifecycleScheduler.tick(NOW.plusMinutes(1))).isZero();
+        assertThat(statusOf(event)).isEqualTo(EventStatus.PUBLISHED);
+
+        assertThat(this.eventLifecycleScheduler.tick(NOW.plusMinutes(30))).isEqualTo(1);
+        assertThat(statusOf(event)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+    }
+
+    // 다른 노드가 임대를 가지고 있으면 아무것도 하지 않고, 임대가 만료되면 이어받는다.
+    @Test
+    public void tick_OnlyLeaseHolderRuns() {
+        Event event = generateEvent(EventStatus.PUBLISHED, NOW.minusMinutes(1));
+        this.schedulerLockRepository.save(
+                new SchedulerLock(EventLifecycleScheduler.LEASE_NAME, "other-node", NOW.plusSeconds(30)));
+
+        assertThat(this.eventLifecycleScheduler.tick(NOW)).isZero();
+        assertThat(statusOf(event)).isEqualTo(EventStatus.PUBLISHED);
+
+        assertThat(this.eventLifecycleScheduler.tick(NOW.plusMinutes(1))).isEqualTo(1);
+        assertThat(statusOf(event)).isEqualTo(EventStatus.BEGAN_ENROLLMENT);
+    }
+
+    // 테스트 프로필에서는 컨텍스트와 함께 시작하지 않는다. 필요하면 라이프사이클로 켜고 끈다.
+    @Test
+    public void lifecycle_StartAndStop() {
+        assertThat(this.eventLifecycleScheduler.isAutoStartup()).isFalse();
+        assertThat(this.eventLifecycleScheduler.isRunning()).isFalse();
+
+        this.eventLifecycleScheduler.start();
+        try {
+            assertThat(this.eventLifecycleScheduler.isRunning()).isTrue();
+        } finally {
+            this.eventLifecycleScheduler.stop();
+        }
+        assertThat(this.eventLifecycleScheduler.isRunning()).isFalse();
+    }
+
+    private EventStatus statusOf(Event event) {
+        return this.eventRepositoy.findById(event.getId()).get().getEventStatus();
+    }
+
+    private Event generateEvent(EventStatus eventStatus, LocalDateTime beginEnrollmentDateTime) {
+        Event event = Event.builder()
+                .name("event")
+                .description("test event")
+                .beginEnrollmentDateTime(beginEnrollmentDateTime)
+                .closeEnrollmentDateTime(beginEnrollmentDateTime.plusDays(1))
+                .beginEventDateTime(beginEnrollmentDateTime.plusDays(2))
+                .endEventDateTime(beginEnrollmentDateTime.plusDays(3))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .free(false)
+                .offline(true)
+                .eventStatus(eventStatus)
+                .build();
+
+        return this.eventRepositoy.save(event);
+    }
+
+}
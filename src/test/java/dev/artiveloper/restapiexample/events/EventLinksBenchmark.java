@@ -0,0 +1,69 @@
+package dev.artiveloper.restapiexample.events;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+
+/**
+ * 100 건짜리 목록 한 페이지의 self 링크 생성 비용 비교. (이벤트마다 linkTo vs 요청당 한 번 EventLinks)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventLinksBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Setup
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setServerName("api.example.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<Link> linkToPerEvent() {
+        List<Link> links = new ArrayList<>(PAGE_SIZE);
+        for (int id = 0; id < PAGE_SIZE; id++) {
+            links.add(linkTo(EventController.class).slash(id).withSelfRel());
+        }
+        return links;
+    }
+
+    @Benchmark
+    public List<Link> eventLinksPerRequest() {
+        EventLinks eventLinks = EventLinks.fromCurrentRequest();
+        List<Link> links = new ArrayList<>(PAGE_SIZE);
+        for (int id = 0; id < PAGE_SIZE; id++) {
+            links.add(eventLinks.self(id));
+        }
+        return links;
+    }
+
+}
@@ -0,0 +1,37 @@
+package dev.artiveloper.restapiexample.events;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
+
+public class EventLinksTest {
+
+    @Before
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setServerName("api.example.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void sameAsLinkTo() {
+        EventLinks eventLinks = EventLinks.fromCurrentRequest();
+
+        assertThat(eventLinks.self(10)).isEqualTo(linkTo(EventController.class).slash(10).withSelfRel());
+        assertThat(eventLinks.updateEvent(10)).isEqualTo(linkTo(EventController.class).slash(10).withRel("update-event"));
+        assertThat(eventLinks.queryEvents()).isEqualTo(linkTo(EventController.class).withRel("query-events"));
+        assertThat(eventLinks.self(10).getHref()).isEqualTo("http://api.example.com/api/events/10");
+    }
+
+}
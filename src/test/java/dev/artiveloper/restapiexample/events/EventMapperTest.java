@@ -0,0 +1,63 @@
+package dev.artiveloper.restapiexample.events;
+
+import dev.artiveloper.restapiexample.accounts.Account;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventMapperTest {
+
+    private final EventMapper eventMapper = EventMapper.INSTANCE;
+
+    @Test
+    public void toEventEntity() {
+        EventDto eventDto = eventDto();
+        eventDto.setEventStatus(EventStatus.PUBLISHED);
+
+        Event event = eventMapper.toEventEntity(eventDto);
+
+        assertThat(event.getId()).isNull();
+        assertThat(event.getName()).isEqualTo(eventDto.getName());
+        assertThat(event.getEndEventDateTime()).isEqualTo(eventDto.getEndEventDateTime());
+        assertThat(event.getLimitOfEnrollment()).isEqualTo(eventDto.getLimitOfEnrollment());
+        assertThat(event.getEventStatus()).isEqualTo(EventStatus.DTAFT);
+    }
+
+    @Test
+    public void update() {
+        Account manager = Account.builder().id(10).build();
+        Event event = Event.builder()
+                .id(1)
+                .name("before")
+                .free(true)
+                .manager(manager)
+                .build();
+
+        EventDto eventDto = eventDto();
+        eventMapper.update(eventDto, event);
+
+        assertThat(event.getId()).isEqualTo(1);
+        assertThat(event.getManager()).isSameAs(manager);
+        assertThat(event.isFree()).isTrue();
+        assertThat(event.getName()).isEqualTo(eventDto.getName());
+        assertThat(event.getBasePrice()).isEqualTo(eventDto.getBasePrice());
+    }
+
+    private EventDto eventDto() {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .build();
+    }
+
+}
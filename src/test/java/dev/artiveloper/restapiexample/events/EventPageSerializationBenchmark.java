@@ -0,0 +1,114 @@
+package dev.artiveloper.restapiexample.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.artiveloper.restapiexample.accounts.Account;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.core.DefaultRelProvider;
+import org.springframework.hateoas.hal.Jackson2HalModule;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100 건짜리 목록 한 페이지를 HAL 로 만들어 쓰는 비용. (PagedResources + EventResource vs EventPageSerializer)
+ * 페이지 링크 생성부터 바이트 배열까지 컨트롤러가 하는 일을 모두 포함한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventPageSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final PagedResourcesAssembler<Event> assembler =
+            new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper halObjectMapper;
+    private Page<Event> page;
+
+    @Setup
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setServerName("api.example.com");
+        request.setQueryString("page=1&size=100&sort=name,DESC");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // 스프링 부트와 같은 설정. HAL 용은 TypeConstrainedMappingJackson2HttpMessageConverter 의 것과 같다.
+        this.objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializerByType(EventPage.class, new EventPageSerializer())
+                .build();
+        this.halObjectMapper = this.objectMapper.copy();
+        this.halObjectMapper.registerModule(new Jackson2HalModule());
+        this.halObjectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(new DefaultRelProvider(), null, null));
+
+        List<Event> events = new ArrayList<>(PAGE_SIZE);
+        for (int id = 0; id < PAGE_SIZE; id++) {
+            events.add(Event.builder()
+                    .id(id)
+                    .name("event " + id)
+                    .description("test event")
+                    .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                    .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                    .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                    .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                    .basePrice(100)
+                    .maxPrice(200)
+                    .limitOfEnrollment(100)
+                    .location("강남역 D2 스타텁 팩토리")
+                    .offline(true)
+                    .eventStatus(EventStatus.PUBLISHED)
+                    .manager(Account.builder().id(id % 10).build())
+                    .build());
+        }
+        this.page = new PageImpl<>(events, PageRequest.of(1, PAGE_SIZE, Sort.by(Sort.Order.desc("name"))), 1000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public byte[] pagedResources() throws Exception {
+        EventLinks eventLinks = EventLinks.fromCurrentRequest();
+        return this.halObjectMapper.writeValueAsBytes(this.assembler.toResource(this.page, e -> new EventResource(e, eventLinks)));
+    }
+
+    @Benchmark
+    public byte[] eventPage() throws Exception {
+        Page<Event> emptyPage = new PageImpl<>(Collections.emptyList(), this.page.getPageable(), this.page.getTotalElements());
+        List<Link> links = this.assembler.toEmptyResource(emptyPage, Event.class).getLinks();
+        return this.objectMapper.writeValueAsBytes(new EventPage(this.page, EventLinks.fromCurrentRequest(), links));
+    }
+
+}
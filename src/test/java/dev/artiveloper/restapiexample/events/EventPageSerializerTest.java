@@ -0,0 +1,103 @@
+package dev.artiveloper.restapiexample.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.common.BaseControllerTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.mvc.TypeConstrainedMappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class EventPageSerializerTest extends BaseControllerTest {
+
+    @Autowired
+    RequestMappingHandlerAdapter handlerAdapter;
+
+    private ObjectMapper halObjectMapper;
+
+    private final PagedResourcesAssembler<Event> assembler =
+            new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+
+    @Before
+    public void setUp() {
+        // HAL 용 ObjectMapper 는 빈이 아니라 ResourceSupport 전용 컨버터 안에 있다.
+        this.halObjectMapper = this.handlerAdapter.getMessageConverters().stream()
+                .filter(TypeConstrainedMappingJackson2HttpMessageConverter.class::isInstance)
+                .map(c -> ((TypeConstrainedMappingJackson2HttpMessageConverter) c).getObjectMapper())
+                .findFirst().get();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setQueryString("page=1&size=2&sort=name,DESC");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    //PagedResources + EventResource 로 만든 HAL 문서와 같아야 한다
+    @Test
+    public void sameAsPagedResources() throws Exception {
+        List<Event> events = Arrays.asList(event(1, null), event(2, Account.builder().id(7).build()));
+        Page<Event> page = new PageImpl<>(events, PageRequest.of(1, 2, Sort.by(Sort.Order.desc("name"))), 10);
+
+        assertSameAsPagedResources(page);
+    }
+
+    @Test
+    public void sameAsPagedResources_empty() throws Exception {
+        Page<Event> page = new PageImpl<>(Collections.emptyList(), PageRequest.of(0, 20), 0);
+
+        assertSameAsPagedResources(page);
+    }
+
+    private void assertSameAsPagedResources(Page<Event> page) throws Exception {
+        String expected = this.halObjectMapper.writeValueAsString(
+                this.assembler.toResource(page, e -> new EventResource(e)));
+
+        Page<Event> emptyPage = new PageImpl<>(Collections.emptyList(), page.getPageable(), page.getTotalElements());
+        EventPage eventPage = new EventPage(page, EventLinks.fromCurrentRequest(),
+                this.assembler.toEmptyResource(emptyPage, Event.class).getLinks());
+        String actual = this.objectMapper.writeValueAsString(eventPage);
+
+        JSONAssert.assertEquals(expected, actual, true);
+    }
+
+    private Event event(int id, Account manager) {
+        return Event.builder()
+                .id(id)
+                .name("event " + id)
+                .description("test event")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .offline(true)
+                .eventStatus(EventStatus.DTAFT)
+                .manager(manager)
+                .build();
+    }
+
+}
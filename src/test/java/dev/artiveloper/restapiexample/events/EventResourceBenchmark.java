@@ -0,0 +1,95 @@
+package dev.artiveloper.restapiexample.events;
+
+import dev.artiveloper.restapiexample.common.ErrorResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * createEvent / 400 응답의 리소스 생성 비용. linkTo 로 현재 요청을 보는 생성자와 주소를 넘겨받는 생성자를 비교한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventResourceBenchmark {
+
+    private Event event;
+    private EventLinks eventLinks;
+    private Errors errors;
+
+    @Setup
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/events");
+        request.setServerName("api.example.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        this.event = Event.builder()
+                .id(1)
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .build();
+        this.eventLinks = EventLinks.fromCurrentRequest();
+
+        this.errors = new BeanPropertyBindingResult(EventDto.builder().basePrice(10000).maxPrice(200).build(), "eventDto");
+        this.errors.rejectValue("basePrice", "wrongValue", "basePrice is wrong.");
+        this.errors.rejectValue("maxPrice", "wrongValue", "maxPrice is wrong.");
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public EventResource eventResource() {
+        EventLinks eventLinks = EventLinks.fromCurrentRequest();
+        EventResource eventResource = new EventResource(this.event, eventLinks);
+        eventResource.add(eventLinks.queryEvents());
+        eventResource.add(eventLinks.updateEvent(this.event.getId()));
+        return eventResource;
+    }
+
+    @Benchmark
+    public EventResource eventResourceWithLinks() {
+        EventResource eventResource = new EventResource(this.event, this.eventLinks);
+        eventResource.add(this.eventLinks.queryEvents());
+        eventResource.add(this.eventLinks.updateEvent(this.event.getId()));
+        return eventResource;
+    }
+
+    @Benchmark
+    public ErrorResource errorResource() {
+        return new ErrorResource(this.errors);
+    }
+
+    @Benchmark
+    public ErrorResource errorResourceWithIndexHref() {
+        return new ErrorResource(this.errors, "http://api.example.com/api");
+    }
+
+}
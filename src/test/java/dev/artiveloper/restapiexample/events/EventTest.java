@@ -33,4 +33,20 @@ public class EventTest {
 
         assertThat(event.isFree()).isEqualTo(isFree);
     }
+
+    @Test
+    @Parameters({
+            "강남역, true",
+            " , false",
+            "null, false"
+    })
+    public void testOffline(String location, boolean isOffline) {
+        Event event = Event.builder()
+                .location("null".equals(location) ? null : location)
+                .build();
+
+        event.update();
+
+        assertThat(event.isOffline()).isEqualTo(isOffline);
+    }
 }
\ No newline at end of file
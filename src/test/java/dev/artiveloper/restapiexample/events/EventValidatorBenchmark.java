@@ -0,0 +1,75 @@
+package dev.artiveloper.restapiexample.events;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import javax.validation.Validation;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 생성/수정 요청마다 실행되는 검증 비용. valid 는 EventValidator 규칙만, validate 는 애노테이션 검증까지 포함한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventValidatorBenchmark {
+
+    private EventValidator eventValidator;
+    private EventDto validDto;
+    private EventDto wrongPriceDto;
+
+    @Setup
+    public void setUp() {
+        this.eventValidator = new EventValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        this.validDto = eventDto(100);
+        this.wrongPriceDto = eventDto(10000);
+    }
+
+    @Benchmark
+    public Errors valid() {
+        Errors errors = new BeanPropertyBindingResult(this.validDto, "eventDto");
+        this.eventValidator.valid(this.validDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Errors validate() {
+        return this.eventValidator.validate(this.validDto);
+    }
+
+    // 오류가 있으면 FieldError 와 메시지 코드를 만든다.
+    @Benchmark
+    public Errors validateWrongPrice() {
+        return this.eventValidator.validate(this.wrongPriceDto);
+    }
+
+    private static EventDto eventDto(int basePrice) {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(basePrice)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .build();
+    }
+
+}
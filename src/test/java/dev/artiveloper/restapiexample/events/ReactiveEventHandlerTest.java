@@ -0,0 +1,262 @@
+package dev.artiveloper.restapiexample.events;
+
+import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.accounts.AccountRepository;
+import dev.artiveloper.restapiexample.accounts.AccountRole;
+import dev.artiveloper.restapiexample.accounts.AccountService;
+import dev.artiveloper.restapiexample.common.BaseControllerTest;
+import dev.artiveloper.restapiexample.common.EventFixtures;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.netty.DisposableServer;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@TestPropertySource(properties = "app.reactive.port=0")
+public class ReactiveEventHandlerTest extends BaseControllerTest {
+
+    @Autowired
+    DisposableServer reactiveEventServer;
+
+    @Autowired
+    EventRepositoy eventRepositoy;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    WebTestClient webTestClient;
+
+    @Before
+    public void setUp() {
+        this.eventRepositoy.deleteAll();
+        this.accountRepository.deleteAll();
+        this.cacheManager.getCache(EventService.EVENTS_CACHE).clear();
+        this.webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + this.reactiveEventServer.port())
+                .build();
+    }
+
+    @Test
+    public void createEvent() throws Exception {
+        String bearerToken = getBearerToken();
+
+        this.webTestClient.post().uri("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(eventDto())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().contentTypeCompatibleWith(MediaTypes.HAL_JSON)
+                .expectHeader().valueMatches(HttpHeaders.LOCATION, "http://localhost:\\d+/api/events/\\d+")
+                .expectBody()
+                .jsonPath("id").exists()
+                .jsonPath("offline").isEqualTo(true)
+                .jsonPath("free").isEqualTo(false)
+                .jsonPath("_links.self.href").exists()
+                .jsonPath("_links.query-events.href").exists()
+                .jsonPath("_links.update-event.href").exists();
+
+        assertThat(this.eventRepositoy.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void createEvent_BadRequest() throws Exception {
+        String bearerToken = getBearerToken();
+        EventDto wrongPrice = eventDto();
+        wrongPrice.setBasePrice(10000);
+
+        this.webTestClient.post().uri("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(wrongPrice)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("content[0].field").isEqualTo("basePrice")
+                .jsonPath("content[0].code").isEqualTo("wrongValue")
+                .jsonPath("_links.index.href").exists();
+
+        this.webTestClient.post().uri("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody("{}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void createEvent_Unauthorized() {
+        this.webTestClient.post().uri("/api/events")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(eventDto())
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        this.webTestClient.post().uri("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer invalid")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(eventDto())
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        assertThat(this.eventRepositoy.count()).isZero();
+    }
+
+    @Test
+    public void queryEvents() {
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        String eTag = this.webTestClient.get().uri("/api/events?page=1&size=10&sort=name,DESC")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("page.totalElements").isEqualTo(30)
+                .jsonPath("page.number").isEqualTo(1)
+                .jsonPath("_embedded.eventList.length()").isEqualTo(10)
+                .jsonPath("_embedded.eventList[0].name").isEqualTo("event 26")
+                .jsonPath("_embedded.eventList[0]._links.self.href").exists()
+                .jsonPath("_links.first.href").exists()
+                .jsonPath("_links.prev.href").exists()
+                .jsonPath("_links.next.href").exists()
+                .jsonPath("_links.last.href").exists()
+                .returnResult().getResponseHeaders().getETag();
+
+        this.webTestClient.get().uri("/api/events?page=1&size=10&sort=name,DESC")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        this.webTestClient.get().uri("/api/events?fields=name&eventStatus=PUBLISHED")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("page.totalElements").isEqualTo(0);
+
+        this.webTestClient.get().uri("/api/events?fields=unknown")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void getEvent() {
+        Event event = generateEvent(100);
+
+        String eTag = this.webTestClient.get().uri("/api/events/{id}", event.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED)
+                .expectBody()
+                .jsonPath("name").isEqualTo("event 100")
+                .jsonPath("_links.self.href").exists()
+                .returnResult().getResponseHeaders().getETag();
+
+        this.webTestClient.get().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        this.webTestClient.get().uri("/api/events/11883")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        this.webTestClient.get().uri("/api/events/abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void updateEvent() throws Exception {
+        String bearerToken = getBearerToken();
+        Event event = generateEvent(200);
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("Updated Event");
+
+        this.webTestClient.put().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .header(HttpHeaders.IF_MATCH, "\"" + event.getId() + "-999\"")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(eventDto)
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + event.getId() + "-" + event.getVersion() + "\"");
+
+        this.webTestClient.put().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .header(HttpHeaders.IF_MATCH, "\"" + event.getId() + "-" + event.getVersion() + "\"")
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(eventDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + event.getId() + "-" + (event.getVersion() + 1) + "\"")
+                .expectBody()
+                .jsonPath("name").isEqualTo("Updated Event")
+                .jsonPath("_links.self.href").exists();
+
+        this.webTestClient.put().uri("/api/events/11883")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(eventDto)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private String getBearerToken() throws Exception {
+        String username = "artiveloper@gmail.com";
+        String password = "password";
+        this.accountService.save(Account.builder()
+                .email(username)
+                .password(password)
+                .roles(new HashSet<>(Arrays.asList(AccountRole.ADMIN, AccountRole.USER)))
+                .build());
+
+        String response = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic("myApp", "pass"))
+                .param("username", username)
+                .param("password", password)
+                .param("grant_type", "password"))
+                .andReturn().getResponse().getContentAsString();
+        return "Bearer " + new Jackson2JsonParser().parseMap(response).get("access_token");
+    }
+
+    private EventDto eventDto() {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .build();
+    }
+
+    private Event generateEvent(int index) {
+        return this.eventRepositoy.save(EventFixtures.event(index));
+    }
+
+}
@@ -0,0 +1,65 @@
+package dev.artiveloper.restapiexample.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트 하나의 지연 분포(마이크로초)와 상태 코드별 건수. 여러 워커 스레드가 동시에 기록한다.
+ */
+class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    void record(int status, long elapsedNanos) {
+        this.histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_LATENCY_MICROS));
+        this.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    // 응답을 받지 못했다. (연결 실패, 타임아웃)
+    void recordError() {
+        this.errors.increment();
+    }
+
+    void reset() {
+        this.histogram.reset();
+        this.statuses.clear();
+        this.errors.reset();
+    }
+
+    Map<String, Object> toReport(double elapsedSeconds) {
+        Map<String, Object> statusCounts = new TreeMap<>();
+        this.statuses.forEach((status, count) -> statusCounts.put(String.valueOf(status), count.sum()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("count", this.histogram.getTotalCount());
+        report.put("errors", this.errors.sum());
+        report.put("throughput", round(this.histogram.getTotalCount() / elapsedSeconds));
+        report.put("p50Ms", millis(this.histogram.getValueAtPercentile(50)));
+        report.put("p90Ms", millis(this.histogram.getValueAtPercentile(90)));
+        report.put("p99Ms", millis(this.histogram.getValueAtPercentile(99)));
+        report.put("p999Ms", millis(this.histogram.getValueAtPercentile(99.9)));
+        report.put("maxMs", millis(this.histogram.getMaxValue()));
+        report.put("statuses", statusCounts);
+        return report;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+}
@@ -0,0 +1,370 @@
+package dev.artiveloper.restapiexample.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.artiveloper.restapiexample.RestApiExampleApplication;
+import dev.artiveloper.restapiexample.accounts.Account;
+import dev.artiveloper.restapiexample.accounts.AccountRole;
+import dev.artiveloper.restapiexample.accounts.AccountService;
+import dev.artiveloper.restapiexample.events.Event;
+import dev.artiveloper.restapiexample.events.EventDto;
+import dev.artiveloper.restapiexample.events.EventRepositoy;
+import dev.artiveloper.restapiexample.events.EventStatus;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 전체 스택 부하 테스트. 내장 DB(loadtest 프로필)로 앱을 띄우고 OAuth 비밀번호 인증과 /api/events 조회, 생성, 수정을 섞어서 보낸다.
+ * 엔드포인트별 처리량과 p50/p90/p99/p999 지연을 JSON 으로 남긴다. (빌드끼리 비교할 때 쓴다)
+ *
+ * <pre>
+ * mvn -P loadtest test-compile exec:exec -Dloadtest.args="--loadtest.concurrency=64 --loadtest.duration=60s"
+ * </pre>
+ *
+ * 옵션은 스프링 프로퍼티로 받는다. loadtest.* 가 아닌 인자(--app.async.enabled=true 등)는 앱 설정이 된다.
+ * 데이터베이스 외에는 운영 기본 설정 그대로이므로 호출 한도도 걸린다. 한도 없이 재려면 --app.rate-limit.enabled=false 를 넘긴다.
+ * 워커는 닫힌 루프(응답을 받은 뒤 다음 요청)라서 서버가 느려지면 요청률도 함께 줄어든다.
+ */
+public class EventLoadTest {
+
+    private static final String USERNAME = "loadtest@example.com";
+    private static final String PASSWORD = "loadtest";
+    private static final String CLIENT_ID = "myApp";
+    private static final String CLIENT_SECRET = "pass";
+
+    private static final String TOKEN = "POST /oauth/token";
+    private static final String QUERY = "GET /api/events";
+    private static final String GET = "GET /api/events/{id}";
+    private static final String CREATE = "POST /api/events";
+    private static final String UPDATE = "PUT /api/events/{id}";
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"access_token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final ConfigurableApplicationContext context;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<String, Integer> mix;
+    private final int requestsPerToken;
+    private final int seedEvents;
+    private final int pageSize;
+    private final String reportFile;
+
+    private String baseUrl;
+    private String authorization;
+    private List<Integer> eventIds;
+    private String eventPayload;
+    private volatile boolean running = true;
+    private volatile boolean measuring;
+
+    EventLoadTest(ConfigurableApplicationContext context) {
+        this.context = context;
+        Environment environment = context.getEnvironment();
+        this.concurrency = environment.getProperty("loadtest.concurrency", Integer.class, 32);
+        this.warmup = environment.getProperty("loadtest.warmup", Duration.class, Duration.ofSeconds(10));
+        this.duration = environment.getProperty("loadtest.duration", Duration.class, Duration.ofSeconds(30));
+        this.mix = parseMix(environment.getProperty("loadtest.mix", "query=40,get=40,create=10,update=10"));
+        // 0 이면 워커마다 한 번 받은 토큰을 계속 쓴다. N 이면 쓰기 요청 N 번마다 새로 인증한다.
+        this.requestsPerToken = environment.getProperty("loadtest.requests-per-token", Integer.class, 0);
+        this.seedEvents = environment.getProperty("loadtest.seed-events", Integer.class, 1000);
+        this.pageSize = environment.getProperty("loadtest.page-size", Integer.class, 20);
+        this.reportFile = environment.getProperty("loadtest.report", "target/loadtest-report.json");
+
+        for (String endpoint : Arrays.asList(TOKEN, QUERY, GET, CREATE, UPDATE)) {
+            this.stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RestApiExampleApplication.class)
+                .profiles("loadtest")
+                .run(withDefaults(args));
+        try {
+            new EventLoadTest(context).run();
+        } finally {
+            context.close();
+        }
+    }
+
+    // 기본 속성(properties)은 application.yml 보다 우선순위가 낮으므로 지정하지 않은 것만 인자로 더한다.
+    private static String[] withDefaults(String[] args) {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        addDefault(arguments, "server.port", "0");
+        addDefault(arguments, "logging.level.org.hibernate.SQL", "WARN");
+        addDefault(arguments, "logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        return arguments.toArray(new String[0]);
+    }
+
+    private static void addDefault(List<String> arguments, String name, String value) {
+        if (arguments.stream().noneMatch(a -> a.startsWith("--" + name + "="))) {
+            arguments.add("--" + name + "=" + value);
+        }
+    }
+
+    void run() throws Exception {
+        // HttpURLConnection 의 keep-alive 연결 수 (기본 5)
+        System.setProperty("http.maxConnections", String.valueOf(this.concurrency));
+        this.baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) this.context).getWebServer().getPort();
+        seed();
+
+        ExecutorService workers = Executors.newFixedThreadPool(this.concurrency);
+        for (int i = 0; i < this.concurrency; i++) {
+            workers.execute(new Worker());
+        }
+
+        Thread.sleep(this.warmup.toMillis());
+        this.measuring = true;
+        long start = System.nanoTime();
+        Thread.sleep(this.duration.toMillis());
+        this.measuring = false;
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        this.running = false;
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+
+        writeReport(elapsedSeconds);
+    }
+
+    private void seed() throws IOException {
+        this.context.getBean(AccountService.class).save(Account.builder()
+                .email(USERNAME)
+                .password(PASSWORD)
+                .roles(new HashSet<>(Arrays.asList(AccountRole.ADMIN, AccountRole.USER)))
+                .build());
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((CLIENT_ID + ":" + CLIENT_SECRET).getBytes(StandardCharsets.UTF_8));
+
+        EventRepositoy eventRepositoy = this.context.getBean(EventRepositoy.class);
+        List<Event> events = new ArrayList<>(this.seedEvents);
+        for (int i = 0; i < this.seedEvents; i++) {
+            events.add(Event.builder()
+                    .name("event " + i)
+                    .description("load test event")
+                    .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                    .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                    .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                    .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                    .basePrice(100)
+                    .maxPrice(200)
+                    .limitOfEnrollment(100)
+                    .location("강남역 D2 스타텁 팩토리")
+                    .offline(true)
+                    .eventStatus(EventStatus.PUBLISHED)
+                    .build());
+        }
+        this.eventIds = new ArrayList<>();
+        eventRepositoy.saveAll(events).forEach(e -> this.eventIds.add(e.getId()));
+
+        this.eventPayload = this.context.getBean(ObjectMapper.class).writeValueAsString(EventDto.builder()
+                .name("load test")
+                .description("REST API load test")
+                .beginEnrollmentDateTime(LocalDateTime.of(2018, 11, 23, 14, 21))
+                .closeEnrollmentDateTime(LocalDateTime.of(2018, 11, 24, 14, 21))
+                .beginEventDateTime(LocalDateTime.of(2018, 11, 25, 14, 21))
+                .endEventDateTime(LocalDateTime.of(2018, 11, 26, 14, 21))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("강남역 D2 스타텁 팩토리")
+                .eventStatus(EventStatus.PUBLISHED)
+                .build());
+    }
+
+    private void writeReport(double elapsedSeconds) throws IOException {
+        Map<String, Object> options = new LinkedHashMap<>();
+        options.put("concurrency", this.concurrency);
+        options.put("warmup", this.warmup.toString());
+        options.put("duration", this.duration.toString());
+        options.put("mix", this.mix);
+        options.put("requestsPerToken", this.requestsPerToken);
+        options.put("seedEvents", this.seedEvents);
+        options.put("pageSize", this.pageSize);
+        options.put("asyncEnabled", this.context.getEnvironment().getProperty("app.async.enabled", "false"));
+
+        long total = 0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<String, EndpointStats> entry : this.stats.entrySet()) {
+            Map<String, Object> endpoint = entry.getValue().toReport(elapsedSeconds);
+            endpoints.put(entry.getKey(), endpoint);
+            total += (Long) endpoint.get("count");
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("build", this.context.getEnvironment().getProperty("loadtest.build", ""));
+        report.put("timestamp", Instant.now().toString());
+        report.put("java", System.getProperty("java.version"));
+        report.put("options", options);
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("count", total);
+        report.put("throughput", Math.round(total / elapsedSeconds * 1000) / 1000.0);
+        report.put("endpoints", endpoints);
+
+        File file = new File(this.reportFile);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, report);
+
+        System.out.printf("%n%-24s %10s %10s %10s %10s %10s %10s%n", "endpoint", "count", "ops/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+        endpoints.forEach((name, value) -> {
+            Map<?, ?> endpoint = (Map<?, ?>) value;
+            System.out.printf("%-24s %10s %10s %10s %10s %10s %10s%n", name, endpoint.get("count"), endpoint.get("throughput"),
+                    endpoint.get("p50Ms"), endpoint.get("p99Ms"), endpoint.get("p999Ms"), endpoint.get("errors"));
+        });
+        System.out.println("report: " + file.getAbsolutePath());
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("=");
+            String operation = pair[0].trim();
+            if (!Arrays.asList("query", "get", "create", "update").contains(operation)) {
+                throw new IllegalArgumentException("unknown operation in loadtest.mix: " + operation);
+            }
+            weights.put(operation, Integer.valueOf(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    private class Worker implements Runnable {
+
+        private final int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        private String bearerToken;
+        private int tokenUses;
+
+        @Override
+        public void run() {
+            while (running) {
+                String operation = nextOperation();
+                try {
+                    switch (operation) {
+                        case "query":
+                            int page = ThreadLocalRandom.current().nextInt(Math.max(eventIds.size() / pageSize, 1));
+                            send(QUERY, "GET", "/api/events?page=" + page + "&size=" + pageSize + "&sort=name,DESC", null, null);
+                            break;
+                        case "get":
+                            send(GET, "GET", "/api/events/" + randomEventId(), null, null);
+                            break;
+                        case "create":
+                            send(CREATE, "POST", "/api/events", bearerToken(), eventPayload);
+                            break;
+                        case "update":
+                            send(UPDATE, "PUT", "/api/events/" + randomEventId(), bearerToken(), eventPayload);
+                            break;
+                        default:
+                            throw new IllegalStateException(operation);
+                    }
+                } catch (IOException e) {
+                    if (measuring) {
+                        stats.get(endpoint(operation)).recordError();
+                    }
+                }
+            }
+        }
+
+        private String nextOperation() {
+            int pick = ThreadLocalRandom.current().nextInt(this.totalWeight);
+            for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+                pick -= entry.getValue();
+                if (pick < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        private Integer randomEventId() {
+            return eventIds.get(ThreadLocalRandom.current().nextInt(eventIds.size()));
+        }
+
+        private String bearerToken() throws IOException {
+            if (this.bearerToken == null || (requestsPerToken > 0 && this.tokenUses >= requestsPerToken)) {
+                String form = "grant_type=password&username=" + USERNAME + "&password=" + PASSWORD;
+                String response = send(TOKEN, "POST", "/oauth/token", authorization, form);
+                Matcher matcher = ACCESS_TOKEN.matcher(response);
+                if (!matcher.find()) {
+                    throw new IOException("no access_token in " + response);
+                }
+                this.bearerToken = "Bearer " + matcher.group(1);
+                this.tokenUses = 0;
+            }
+            this.tokenUses++;
+            return this.bearerToken;
+        }
+
+        private String send(String endpoint, String method, String path, String authorization, String body) throws IOException {
+            long start = System.nanoTime();
+            HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+            connection.setRequestMethod(method);
+            if (authorization != null) {
+                connection.setRequestProperty(HttpHeaders.AUTHORIZATION, authorization);
+            }
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty(HttpHeaders.CONTENT_TYPE, TOKEN.equals(endpoint)
+                        ? MediaType.APPLICATION_FORM_URLENCODED_VALUE : MediaType.APPLICATION_JSON_UTF8_VALUE);
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+
+            int status = connection.getResponseCode();
+            String response;
+            // 연결을 재사용할 수 있도록 본문을 끝까지 읽는다.
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                response = in == null ? "" : StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+            }
+            if (measuring) {
+                stats.get(endpoint).record(status, System.nanoTime() - start);
+            }
+            return response;
+        }
+
+        private String endpoint(String operation) {
+            switch (operation) {
+                case "query":
+                    return QUERY;
+                case "get":
+                    return GET;
+                case "create":
+                    return CREATE;
+                default:
+                    return UPDATE;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,2 @@
+CREATE TABLE node (name VARCHAR(20));
+CREATE TABLE replica_status (lag_seconds DOUBLE);